@@ -1,7 +1,21 @@
+DROP TABLE ADMISSION_LEASES;
+DROP TABLE ADMISSION_POOL;
+DROP TABLE OUTBOX_MESSAGES;
+DROP TABLE PARTICIPANT_ROLE_COUNTS;
+DROP TABLE DAILY_EVENT_REGISTRATIONS;
+DROP TABLE REPORTING_CHANGES;
+DROP TABLE IDEMPOTENCY_KEYS;
+DROP TABLE SEAT_LEASES;
+DROP TABLE EVENT_COUNTER_STRIPES;
 DROP TABLE REGISTRATIONS;
 DROP TABLE EVENTS;
 DROP TABLE PARTICIPANTS;
 
+DROP SEQUENCE outbox_messages_seq;
+DROP SEQUENCE daily_event_registrations_seq;
+DROP SEQUENCE reporting_changes_seq;
+DROP SEQUENCE seat_leases_seq;
+DROP SEQUENCE event_counter_stripes_seq;
 DROP SEQUENCE registrations_seq;
 DROP SEQUENCE events_seq;
 DROP SEQUENCE participants_seq;
@@ -23,6 +37,7 @@ CREATE TABLE EVENTS (
     event_date DATE NOT NULL,
     total_seats NUMBER NOT NULL,
     registration_count NUMBER DEFAULT 0,
+    hot NUMBER(1) DEFAULT 0,
     CONSTRAINT chk_event_name CHECK (LENGTH(event_name) >= 2 AND LENGTH(event_name) <= 255),
     CONSTRAINT chk_total_seats CHECK (total_seats > 0),
     CONSTRAINT chk_registration_count CHECK (registration_count >= 0)
@@ -33,6 +48,8 @@ CREATE TABLE REGISTRATIONS (
     event_id NUMBER,
     participant_id NUMBER,
     registration_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    lease_id NUMBER,
+    checked_in_at TIMESTAMP,
     CONSTRAINT fk_event
         FOREIGN KEY (event_id)
         REFERENCES EVENTS(event_id)
@@ -44,9 +61,127 @@ CREATE TABLE REGISTRATIONS (
     CONSTRAINT uk_participant_event UNIQUE (participant_id, event_id)
 );
 
+-- Striped registration counters for hot events (count = EVENTS.registration_count + SUM(stripes))
+CREATE TABLE EVENT_COUNTER_STRIPES (
+    stripe_id NUMBER PRIMARY KEY,
+    event_id NUMBER NOT NULL,
+    stripe_index NUMBER NOT NULL,
+    registration_count NUMBER DEFAULT 0 NOT NULL,
+    seat_quota NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT fk_stripe_event
+        FOREIGN KEY (event_id)
+        REFERENCES EVENTS(event_id)
+        ON DELETE CASCADE,
+    CONSTRAINT uk_event_stripe UNIQUE (event_id, stripe_index),
+    CONSTRAINT chk_stripe_quota CHECK (registration_count >= 0 AND registration_count <= seat_quota)
+);
+
+-- Seat blocks leased by app nodes; seats_leased is already counted in EVENTS.registration_count
+CREATE TABLE SEAT_LEASES (
+    lease_id NUMBER PRIMARY KEY,
+    event_id NUMBER NOT NULL,
+    node_id VARCHAR2(100) NOT NULL,
+    seats_leased NUMBER NOT NULL,
+    seats_used NUMBER DEFAULT 0 NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_lease_event
+        FOREIGN KEY (event_id)
+        REFERENCES EVENTS(event_id)
+        ON DELETE CASCADE,
+    CONSTRAINT chk_lease_seats CHECK (seats_used >= 0 AND seats_used <= seats_leased)
+);
+
+CREATE INDEX idx_seat_leases_expiry ON SEAT_LEASES(expires_at);
+
+-- Outcomes of registration requests by client idempotency key (kept for 24 hours)
+CREATE TABLE IDEMPOTENCY_KEYS (
+    idempotency_key VARCHAR2(64) PRIMARY KEY,
+    operation VARCHAR2(20) NOT NULL CHECK (operation IN ('REGISTER', 'UNREGISTER', 'REGISTER_CART')),
+    participant_id NUMBER NOT NULL,
+    event_id NUMBER NOT NULL,
+    result VARCHAR2(255) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_created ON IDEMPOTENCY_KEYS(created_at);
+
+-- Change log for the reporting aggregates, appended in the same transaction as the change
+-- (event_id for registrations, role for participants) and folded in micro-batches
+CREATE TABLE REPORTING_CHANGES (
+    change_id NUMBER PRIMARY KEY,
+    event_id NUMBER,
+    role VARCHAR2(50),
+    change_date DATE NOT NULL,
+    delta NUMBER NOT NULL,
+    CONSTRAINT fk_change_event
+        FOREIGN KEY (event_id)
+        REFERENCES EVENTS(event_id)
+        ON DELETE CASCADE,
+    CONSTRAINT chk_change_delta CHECK (delta IN (-1, 1))
+);
+
+-- Registrations per day per event
+CREATE TABLE DAILY_EVENT_REGISTRATIONS (
+    stat_id NUMBER PRIMARY KEY,
+    event_id NUMBER NOT NULL,
+    stat_date DATE NOT NULL,
+    registrations NUMBER DEFAULT 0 NOT NULL,
+    unregistrations NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT fk_daily_event
+        FOREIGN KEY (event_id)
+        REFERENCES EVENTS(event_id)
+        ON DELETE CASCADE,
+    CONSTRAINT uk_daily_event_date UNIQUE (event_id, stat_date)
+);
+
+CREATE INDEX idx_daily_event_date ON DAILY_EVENT_REGISTRATIONS(stat_date);
+
+-- Participants per role
+CREATE TABLE PARTICIPANT_ROLE_COUNTS (
+    role VARCHAR2(50) PRIMARY KEY,
+    participant_count NUMBER DEFAULT 0 NOT NULL
+);
+
+-- Transactional outbox: messages written with the registration, sent later by the dispatcher
+CREATE TABLE OUTBOX_MESSAGES (
+    message_id NUMBER PRIMARY KEY,
+    message_type VARCHAR2(50) NOT NULL,
+    recipient VARCHAR2(255) NOT NULL,
+    subject VARCHAR2(255) NOT NULL,
+    body VARCHAR2(4000) NOT NULL,
+    status VARCHAR2(20) DEFAULT 'PENDING' NOT NULL CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED')),
+    attempts NUMBER DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP NOT NULL,
+    claimed_until TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP,
+    last_error VARCHAR2(255)
+);
+
+CREATE INDEX idx_outbox_due ON OUTBOX_MESSAGES(status, next_attempt_at);
+
+-- Waiting room shared by all app nodes: the slots leased from the pool, and each node's share
+CREATE TABLE ADMISSION_POOL (
+    pool_name VARCHAR2(50) PRIMARY KEY,
+    slots_leased NUMBER DEFAULT 0 NOT NULL CHECK (slots_leased >= 0)
+);
+
+CREATE TABLE ADMISSION_LEASES (
+    node_id VARCHAR2(100) PRIMARY KEY,
+    slots NUMBER NOT NULL CHECK (slots >= 0),
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_admission_lease_expiry ON ADMISSION_LEASES(expires_at);
+
 CREATE SEQUENCE participants_seq START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE events_seq START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE registrations_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE event_counter_stripes_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE seat_leases_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE reporting_changes_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE daily_event_registrations_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE outbox_messages_seq START WITH 1 INCREMENT BY 1;
 
 CREATE OR REPLACE TRIGGER trg_check_event_date
 BEFORE INSERT OR UPDATE ON EVENTS
@@ -59,13 +194,15 @@ END;
 /
 
 -- Trigger to increment registration count when a new registration is added
+-- (seats taken from a lease were counted when the lease was taken)
 CREATE OR REPLACE TRIGGER trg_inc_reg_count
 AFTER INSERT ON REGISTRATIONS
 FOR EACH ROW
+WHEN (NEW.lease_id IS NULL)
 BEGIN
     UPDATE EVENTS 
     SET registration_count = registration_count + 1 
-    WHERE event_id = :NEW.event_id;
+    WHERE event_id = :NEW.event_id AND hot = 0;
 END;
 /
 
@@ -76,7 +213,7 @@ FOR EACH ROW
 BEGIN
     UPDATE EVENTS 
     SET registration_count = registration_count - 1 
-    WHERE event_id = :OLD.event_id;
+    WHERE event_id = :OLD.event_id AND hot = 0;
 END;
 /
 
@@ -87,13 +224,16 @@ FOR EACH ROW
 DECLARE
     v_total_seats NUMBER;
     v_registration_count NUMBER;
+    v_hot NUMBER;
 BEGIN
-    SELECT total_seats, registration_count 
-    INTO v_total_seats, v_registration_count
+    SELECT total_seats, registration_count, hot 
+    INTO v_total_seats, v_registration_count, v_hot
     FROM EVENTS 
     WHERE event_id = :NEW.event_id;
     
-    IF v_registration_count >= v_total_seats THEN
+    -- Hot events are capacity-checked through their seat quota stripes,
+    -- leased seats through their lease
+    IF v_hot = 0 AND :NEW.lease_id IS NULL AND v_registration_count >= v_total_seats THEN
         RAISE_APPLICATION_ERROR(-20002, 'Error: Event is full. Cannot register more participants.');
     END IF;
 END;
@@ -126,4 +266,7 @@ VALUES (registrations_seq.nextval, 1, 2);
 INSERT INTO REGISTRATIONS (registration_id, event_id, participant_id)
 VALUES (registrations_seq.nextval, 2, 2);
 
+INSERT INTO ADMISSION_POOL (pool_name, slots_leased)
+VALUES ('REGISTRATION', 0);
+
 COMMIT;
\ No newline at end of file
@@ -5,8 +5,11 @@ module org.example.eventregapp {
     requires java.sql;
     requires java.naming;
     requires java.desktop;
+    requires jdk.jfr;
     requires org.hibernate.orm.core;
     requires org.hibernate.commons.annotations;
+    // Thread allocation counters for TableRenderBenchmark, which runs on the class path
+    requires static jdk.management;
 
     opens org.example.eventregapp to javafx.fxml;
     opens org.example.eventregapp.model to org.hibernate.orm.core;
@@ -15,4 +18,5 @@ module org.example.eventregapp {
     exports org.example.eventregapp;
     exports org.example.eventregapp.model;
     exports org.example.eventregapp.util;
+    exports org.example.eventregapp.diagnostics;
 }
\ No newline at end of file
@@ -1,23 +1,58 @@
 package org.example.eventregapp;
 
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.example.eventregapp.diagnostics.DataLoadFlightEvent;
+import org.example.eventregapp.model.AuditEvent;
 import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.EventAnalytics;
+import org.example.eventregapp.model.EventSummary;
+import org.example.eventregapp.model.OutboxMessage;
 import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.model.ParticipantSummary;
+import org.example.eventregapp.service.AnalyticsService;
+import org.example.eventregapp.service.AuditService;
+import org.example.eventregapp.service.DeletionService;
+import org.example.eventregapp.service.EventCalendarService;
+import org.example.eventregapp.service.FlightRecorderService;
+import org.example.eventregapp.service.OfflineRegistrationService;
+import org.example.eventregapp.service.OutboxService;
+import org.example.eventregapp.service.RateLimitService;
+import org.example.eventregapp.service.ReadModelService;
+import org.example.eventregapp.service.RegistrationIndexService;
+import org.example.eventregapp.service.ReportingService;
+import org.example.eventregapp.service.SearchService;
+import org.example.eventregapp.service.StripedCounterService;
+import org.example.eventregapp.util.CircuitBreaker;
+import org.example.eventregapp.util.DatabaseResilience;
 import org.example.eventregapp.util.DatabaseUtil;
+import org.example.eventregapp.util.RoaringBitmap;
+import org.example.eventregapp.util.TableCells;
 import org.example.eventregapp.util.ValidationUtil;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
+import java.io.File;
 import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AdminController {
 
@@ -25,17 +60,17 @@ public class AdminController {
 
     // Event components
     @FXML
-    private TableView<Event> eventsTable;
+    private TableView<EventSummary> eventsTable;
     @FXML
-    private TableColumn<Event, String> eventNameColumn;
+    private TableColumn<EventSummary, String> eventNameColumn;
     @FXML
-    private TableColumn<Event, String> eventDateColumn;
+    private TableColumn<EventSummary, LocalDate> eventDateColumn;
     @FXML
-    private TableColumn<Event, Integer> totalSeatsColumn;
+    private TableColumn<EventSummary, Integer> totalSeatsColumn;
     @FXML
-    private TableColumn<Event, Integer> availableSeatsColumn;
+    private TableColumn<EventSummary, Integer> availableSeatsColumn;
     @FXML
-    private TableColumn<Event, Integer> registrationCountColumn;
+    private TableColumn<EventSummary, Integer> registrationCountColumn;
     @FXML
     private TextField eventNameField;
     @FXML
@@ -51,6 +86,14 @@ public class AdminController {
     @FXML
     private Button viewRegistrationsButton;
     @FXML
+    private Button toggleHotButton;
+    @FXML
+    private Button checkInButton;
+    @FXML
+    private Button eventHistoryButton;
+    @FXML
+    private TextField eventSearchField;
+    @FXML
     private Label eventStatusLabel;
 
     // User management components
@@ -69,15 +112,73 @@ public class AdminController {
     @FXML
     private Button deleteUserButton;
     @FXML
+    private Button userHistoryButton;
+    @FXML
     private Label userStatusLabel;
     @FXML
-    private TableView<Participant> usersTable;
+    private TextField userSearchField;
+    @FXML
+    private TableView<ParticipantSummary> usersTable;
+    @FXML
+    private TableColumn<ParticipantSummary, String> userNameColumn;
+    @FXML
+    private TableColumn<ParticipantSummary, String> userEmailColumn;
+    @FXML
+    private TableColumn<ParticipantSummary, String> userRoleColumn;
+
+    // Analytics components
+    @FXML
+    private TableView<EventAnalytics> analyticsTable;
+    @FXML
+    private TableColumn<EventAnalytics, String> analyticsEventColumn;
     @FXML
-    private TableColumn<Participant, String> userNameColumn;
+    private TableColumn<EventAnalytics, Double> analyticsFillRateColumn;
     @FXML
-    private TableColumn<Participant, String> userEmailColumn;
+    private TableColumn<EventAnalytics, Integer> analyticsRegisteredColumn;
     @FXML
-    private TableColumn<Participant, String> userRoleColumn;
+    private TableColumn<EventAnalytics, Double> analyticsPerMinuteColumn;
+    @FXML
+    private TableColumn<EventAnalytics, Long> analyticsLastHourColumn;
+    @FXML
+    private TableColumn<EventAnalytics, java.time.Duration> analyticsSellOutColumn;
+    @FXML
+    private Label analyticsStatusLabel;
+    @FXML
+    private Button dumpRecordingButton;
+    @FXML
+    private Label databaseHealthLabel;
+    @FXML
+    private Label rateLimitHealthLabel;
+    @FXML
+    private Label offlineHealthLabel;
+    @FXML
+    private ListView<String> offlineConflictsList;
+    @FXML
+    private Label outboxHealthLabel;
+    @FXML
+    private Label auditHealthLabel;
+    @FXML
+    private ListView<String> failedMessagesList;
+
+    // Audience query components
+    @FXML
+    private ComboBox<RegistrationIndexService.Match> audienceMatchComboBox;
+    @FXML
+    private ListView<EventSummary> audienceIncludeList;
+    @FXML
+    private ListView<EventSummary> audienceExcludeList;
+    @FXML
+    private Label audienceCountLabel;
+    @FXML
+    private TableView<ParticipantSummary> audienceTable;
+    @FXML
+    private TableColumn<ParticipantSummary, String> audienceNameColumn;
+    @FXML
+    private TableColumn<ParticipantSummary, String> audienceEmailColumn;
+    @FXML
+    private TableColumn<ParticipantSummary, String> audienceRoleColumn;
+    @FXML
+    private Label audienceStatusLabel;
 
     // Navigation components
     @FXML
@@ -86,8 +187,27 @@ public class AdminController {
     private Button logoutButton;
 
     // Observable lists
-    private ObservableList<Event> eventsList;
-    private ObservableList<Participant> usersList;
+    private ObservableList<EventSummary> eventsList;
+    private ObservableList<ParticipantSummary> usersList;
+
+    // Refreshes the analytics tab from the in-memory counters while the admin view is open
+    private Timeline analyticsRefresh;
+
+    // FAILED outbox rows are read from the database, so only when this node gives up on a message
+    // or every FAILED_MESSAGES_RELOAD_MILLIS for the ones given up on by other nodes
+    private static final int FAILED_MESSAGES_SHOWN = 50;
+    private static final long FAILED_MESSAGES_RELOAD_MILLIS = 30_000;
+    private long failedMessagesLoadedCount = -1;
+    private long failedMessagesLoadedAt;
+
+    // Rows of an audience query loaded into the table; stays below Oracle's IN list limit
+    private static final int AUDIENCE_PREVIEW_ROWS = 500;
+
+    // Newest audit entries shown in a history dialog
+    private static final int AUDIT_HISTORY_ROWS = 200;
+
+    // Participant IDs of the last audience query, kept for the export
+    private RoaringBitmap audienceResult;
 
     public void setCurrentUser(Participant user) {
         this.currentUser = user;
@@ -119,10 +239,21 @@ public class AdminController {
             // Setup table columns
             setupEventTableColumns();
             setupUserTableColumns();
+            setupAnalyticsTableColumns();
+            setupAudienceQuery();
+
+            // Several events or users can be deleted at once
+            eventsTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+            usersTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
+            // Filter the tables through the in-memory search index as the admin types
+            eventSearchField.textProperty().addListener((obs, oldText, newText) -> filterEvents(newText));
+            userSearchField.textProperty().addListener((obs, oldText, newText) -> filterUsers(newText));
 
             // Load initial data
             loadEvents();
             loadUsers();
+            startAnalyticsRefresh();
 
         } catch (Exception e) {
             showError("Error initializing application: " + e.getMessage());
@@ -130,17 +261,44 @@ public class AdminController {
     }
 
     private void setupEventTableColumns() {
-        eventNameColumn.setCellValueFactory(new PropertyValueFactory<>("eventName"));
-        eventDateColumn.setCellValueFactory(new PropertyValueFactory<>("eventDate"));
-        totalSeatsColumn.setCellValueFactory(new PropertyValueFactory<>("totalSeats"));
-        availableSeatsColumn.setCellValueFactory(new PropertyValueFactory<>("availableSeats"));
-        registrationCountColumn.setCellValueFactory(new PropertyValueFactory<>("registrationCount"));
+        eventNameColumn.setCellValueFactory(TableCells.value(EventSummary::eventName));
+        eventDateColumn.setCellValueFactory(TableCells.value(EventSummary::eventDate));
+        totalSeatsColumn.setCellValueFactory(TableCells.value(EventSummary::totalSeats));
+        availableSeatsColumn.setCellValueFactory(TableCells.value(EventSummary::availableSeats));
+        registrationCountColumn.setCellValueFactory(TableCells.value(EventSummary::currentRegistrationCount));
+    }
+
+    private void setupAudienceQuery() {
+        audienceMatchComboBox.getItems().setAll(RegistrationIndexService.Match.values());
+        audienceMatchComboBox.getSelectionModel().select(RegistrationIndexService.Match.ALL);
+        audienceIncludeList.setItems(eventsList);
+        audienceExcludeList.setItems(eventsList);
+        audienceIncludeList.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        audienceExcludeList.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        audienceNameColumn.setCellValueFactory(TableCells.value(ParticipantSummary::fullName));
+        audienceEmailColumn.setCellValueFactory(TableCells.value(ParticipantSummary::email));
+        audienceRoleColumn.setCellValueFactory(TableCells.value(ParticipantSummary::role));
     }
 
     private void setupUserTableColumns() {
-        userNameColumn.setCellValueFactory(new PropertyValueFactory<>("fullName"));
-        userEmailColumn.setCellValueFactory(new PropertyValueFactory<>("email"));
-        userRoleColumn.setCellValueFactory(new PropertyValueFactory<>("role"));
+        userNameColumn.setCellValueFactory(TableCells.value(ParticipantSummary::fullName));
+        userEmailColumn.setCellValueFactory(TableCells.value(ParticipantSummary::email));
+        userRoleColumn.setCellValueFactory(TableCells.value(ParticipantSummary::role));
+    }
+
+    private void setupAnalyticsTableColumns() {
+        // Columns hold the numbers and sort by them; the cells format them for display
+        analyticsEventColumn.setCellValueFactory(TableCells.value(EventAnalytics::eventName));
+        analyticsFillRateColumn.setCellValueFactory(TableCells.value(EventAnalytics::fillRate));
+        analyticsFillRateColumn.setCellFactory(TableCells.text(rate -> Math.round(rate * 100) + "%"));
+        analyticsRegisteredColumn.setCellValueFactory(TableCells.value(EventAnalytics::registered));
+        analyticsRegisteredColumn.setCellFactory(TableCells.rowText(
+                (analytics, registered) -> registered + " / " + analytics.totalSeats()));
+        analyticsPerMinuteColumn.setCellValueFactory(TableCells.value(EventAnalytics::perMinute));
+        analyticsPerMinuteColumn.setCellFactory(TableCells.text(perMinute -> String.format("%.1f", perMinute)));
+        analyticsLastHourColumn.setCellValueFactory(TableCells.value(EventAnalytics::lastHour));
+        analyticsSellOutColumn.setCellValueFactory(TableCells.value(EventAnalytics::timeToSellOut));
+        analyticsSellOutColumn.setCellFactory(TableCells.rowText((analytics, time) -> formatSellOut(analytics)));
     }
 
     // Event CRUD Operations
@@ -185,6 +343,12 @@ public class AdminController {
                 Transaction transaction = session.beginTransaction();
                 session.save(event);
                 transaction.commit();
+                DatabaseUtil.recordWrite();
+                SearchService.indexEvent(event);
+                EventCalendarService.indexEvent(event);
+                AnalyticsService.trackEvent(event);
+                AuditService.record(AuditEvent.Action.EVENT_CREATED, null, event.getEventId(),
+                        name + ", " + date + ", " + seats + " seats");
                 eventStatusLabel.setText("Event added successfully");
                 clearEventFields();
                 loadEvents();
@@ -197,7 +361,7 @@ public class AdminController {
 
     @FXML
     private void updateEvent() {
-        Event selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
+        EventSummary selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
         if (selectedEvent == null) {
             eventStatusLabel.setText("Please select an event to update");
             return;
@@ -213,14 +377,36 @@ public class AdminController {
                 return;
             }
 
-            selectedEvent.setEventName(name);
-            selectedEvent.setEventDate(LocalDate.parse(dateStr));
-            selectedEvent.setTotalSeats(Integer.parseInt(seatsStr));
-
             try (Session session = DatabaseUtil.getSession()) {
                 Transaction transaction = session.beginTransaction();
-                session.update(selectedEvent);
+                // Only the edited columns are written: registration_count is changed concurrently by
+                // the counter triggers and seat leases, and a full-row update would overwrite it
+                int updated = session.createQuery("UPDATE Event e SET e.eventName = :name, e.eventDate = :date, " +
+                        "e.totalSeats = :totalSeats WHERE e.eventId = :eventId")
+                        .setParameter("name", name)
+                        .setParameter("date", LocalDate.parse(dateStr))
+                        .setParameter("totalSeats", Integer.parseInt(seatsStr))
+                        .setParameter("eventId", selectedEvent.eventId())
+                        .executeUpdate();
+                if (updated == 0) {
+                    transaction.rollback();
+                    eventStatusLabel.setText("Event no longer exists");
+                    loadEvents();
+                    return;
+                }
+
+                Event event = session.get(Event.class, selectedEvent.eventId());
+                if (event.isHot()) {
+                    // Seat quotas of the stripes must follow the new total
+                    StripedCounterService.rebalance(session, event.getEventId());
+                }
                 transaction.commit();
+                DatabaseUtil.recordWrite();
+                SearchService.indexEvent(event);
+                EventCalendarService.indexEvent(event);
+                AnalyticsService.trackEvent(event);
+                AuditService.record(AuditEvent.Action.EVENT_UPDATED, null, event.getEventId(),
+                        name + ", " + dateStr + ", " + seatsStr + " seats");
                 eventStatusLabel.setText("Event updated successfully");
                 clearEventFields();
                 loadEvents();
@@ -233,21 +419,33 @@ public class AdminController {
 
     @FXML
     private void deleteEvent() {
-        Event selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
-        if (selectedEvent == null) {
+        List<Long> selectedEventIds = new ArrayList<>();
+        for (EventSummary event : eventsTable.getSelectionModel().getSelectedItems()) {
+            selectedEventIds.add(event.eventId());
+        }
+        if (selectedEventIds.isEmpty()) {
             eventStatusLabel.setText("Please select an event to delete");
             return;
         }
 
-        try (Session session = DatabaseUtil.getSession()) {
-            Transaction transaction = session.beginTransaction();
-            session.delete(selectedEvent);
-            transaction.commit();
-            eventStatusLabel.setText("Event deleted successfully");
-            loadEvents();
-        } catch (Exception e) {
-            eventStatusLabel.setText("Error: " + e.getMessage());
+        eventStatusLabel.setText(DeletionService.deleteEvents(selectedEventIds));
+        loadEvents();
+    }
+
+    @FXML
+    private void toggleHotEvent() {
+        EventSummary selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
+        if (selectedEvent == null) {
+            eventStatusLabel.setText("Please select an event to mark as hot");
+            return;
         }
+
+        String result = selectedEvent.isHot()
+                ? StripedCounterService.disableStriping(selectedEvent.eventId())
+                : StripedCounterService.enableStriping(selectedEvent.eventId());
+        AuditService.record(AuditEvent.Action.EVENT_HOT_CHANGED, null, selectedEvent.eventId(), result);
+        eventStatusLabel.setText(result);
+        loadEvents();
     }
 
     // Registration Management Operations
@@ -256,7 +454,42 @@ public class AdminController {
         RegistrationController.showRegistrationWindow();
     }
 
+    @FXML
+    private void openCheckIn() {
+        CheckInController.showCheckInWindow();
+    }
+
+    @FXML
+    private void viewEventHistory() {
+        EventSummary selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
+        if (selectedEvent == null) {
+            eventStatusLabel.setText("Please select an event to see its history");
+            return;
+        }
+        try {
+            showAuditHistory("History of " + selectedEvent.eventName(),
+                    AuditService.findByEvent(selectedEvent.eventId(), AUDIT_HISTORY_ROWS));
+        } catch (IOException e) {
+            eventStatusLabel.setText("Error reading audit log: " + e.getMessage());
+        }
+    }
+
     // User Management Operations
+    @FXML
+    private void viewUserHistory() {
+        ParticipantSummary selectedUser = usersTable.getSelectionModel().getSelectedItem();
+        if (selectedUser == null) {
+            userStatusLabel.setText("Please select a user to see their history");
+            return;
+        }
+        try {
+            showAuditHistory("History of " + selectedUser.fullName(),
+                    AuditService.findByParticipant(selectedUser.participantId(), AUDIT_HISTORY_ROWS));
+        } catch (IOException e) {
+            userStatusLabel.setText("Error reading audit log: " + e.getMessage());
+        }
+    }
+
     @FXML
     private void createUser() {
         createParticipant("user");
@@ -269,46 +502,38 @@ public class AdminController {
 
     @FXML
     private void deleteUser() {
-        Participant selectedUser = usersTable.getSelectionModel().getSelectedItem();
-        if (selectedUser == null) {
+        List<ParticipantSummary> selectedUsers = List.copyOf(usersTable.getSelectionModel().getSelectedItems());
+        if (selectedUsers.isEmpty()) {
             userStatusLabel.setText("Please select a user to delete");
             return;
         }
 
         // Prevent admin from deleting themselves
-        if (selectedUser.getParticipantId().equals(currentUser.getParticipantId())) {
-            userStatusLabel.setText("You cannot delete your own account");
-            return;
+        List<Long> selectedUserIds = new ArrayList<>();
+        for (ParticipantSummary user : selectedUsers) {
+            if (user.participantId().equals(currentUser.getParticipantId())) {
+                userStatusLabel.setText("You cannot delete your own account");
+                return;
+            }
+            selectedUserIds.add(user.participantId());
         }
 
         // Show confirmation dialog
         Alert confirmationAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmationAlert.setTitle("Confirm User Deletion");
-        confirmationAlert.setHeaderText("Delete User");
-        confirmationAlert.setContentText("Are you sure you want to delete user: " + selectedUser.getFullName() + " ("
-                + selectedUser.getEmail() + ")?\n\nThis action cannot be undone.");
+        confirmationAlert.setHeaderText(selectedUsers.size() == 1 ? "Delete User" : "Delete Users");
+        confirmationAlert.setContentText((selectedUsers.size() == 1
+                ? "Are you sure you want to delete user: " + selectedUsers.get(0).fullName() + " ("
+                        + selectedUsers.get(0).email() + ")?"
+                : "Are you sure you want to delete " + selectedUsers.size() + " users?")
+                + "\n\nThis action cannot be undone.");
 
         confirmationAlert.getButtonTypes().setAll(ButtonType.YES, ButtonType.NO);
 
         confirmationAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.YES) {
-                try (Session session = DatabaseUtil.getSession()) {
-                    Transaction transaction = session.beginTransaction();
-
-                    // First delete all registrations for this user
-                    session.createQuery("DELETE FROM Registration WHERE participant.participantId = :userId")
-                            .setParameter("userId", selectedUser.getParticipantId())
-                            .executeUpdate();
-
-                    // Then delete the user
-                    session.delete(selectedUser);
-                    transaction.commit();
-
-                    userStatusLabel.setText("User deleted successfully");
-                    loadUsers();
-                } catch (Exception e) {
-                    userStatusLabel.setText("Error deleting user: " + e.getMessage());
-                }
+                userStatusLabel.setText(DeletionService.deleteParticipants(selectedUserIds));
+                loadUsers();
             }
         });
     }
@@ -348,7 +573,13 @@ public class AdminController {
             try (Session session = DatabaseUtil.getSession()) {
                 Transaction transaction = session.beginTransaction();
                 session.save(participant);
+                ReportingService.recordParticipantAdded(session, role);
                 transaction.commit();
+                DatabaseUtil.recordWrite();
+                SearchService.indexParticipant(participant);
+                RegistrationIndexService.addParticipant(participant.getParticipantId());
+                AuditService.record(AuditEvent.Action.USER_CREATED, participant.getParticipantId(), null,
+                        email + " (" + role + ")");
                 userStatusLabel.setText(role + " created successfully");
                 clearUserFields();
                 loadUsers();
@@ -361,27 +592,213 @@ public class AdminController {
 
     // Load data methods
     private void loadEvents() {
-        try (Session session = DatabaseUtil.getSession()) {
-            List<Event> events = session.createQuery("FROM Event", Event.class).list();
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("AdminController", "events", null);
+        flightEvent.begin();
+        try {
+            List<EventSummary> events = ReadModelService.getAllEvents();
             eventsList.clear();
             eventsList.addAll(events);
-            eventsTable.setItems(eventsList);
+            filterEvents(eventSearchField.getText());
+            flightEvent.finish(events.size(), "loaded");
         } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
             eventStatusLabel.setText("Error loading events: " + e.getMessage());
         }
     }
 
     private void loadUsers() {
-        try (Session session = DatabaseUtil.getSession()) {
-            List<Participant> users = session.createQuery("FROM Participant", Participant.class).list();
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("AdminController", "users", null);
+        flightEvent.begin();
+        try {
+            List<ParticipantSummary> users = ReadModelService.getAllParticipants();
             usersList.clear();
             usersList.addAll(users);
-            usersTable.setItems(usersList);
+            filterUsers(userSearchField.getText());
+            flightEvent.finish(users.size(), "loaded");
         } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
             userStatusLabel.setText("Error loading users: " + e.getMessage());
         }
     }
 
+    // Analytics methods
+    private void startAnalyticsRefresh() {
+        loadAnalytics();
+        analyticsRefresh = new Timeline(new KeyFrame(Duration.seconds(2), e -> loadAnalytics()));
+        analyticsRefresh.setCycleCount(Timeline.INDEFINITE);
+        analyticsRefresh.play();
+    }
+
+    private void loadAnalytics() {
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("AdminController", "analytics", null);
+        flightEvent.begin();
+        try {
+            EventAnalytics selected = analyticsTable.getSelectionModel().getSelectedItem();
+            analyticsTable.getItems().setAll(AnalyticsService.getAll());
+            flightEvent.finish(analyticsTable.getItems().size(), "loaded");
+            if (selected != null) {
+                for (EventAnalytics row : analyticsTable.getItems()) {
+                    if (row.eventId().equals(selected.eventId())) {
+                        analyticsTable.getSelectionModel().select(row);
+                        break;
+                    }
+                }
+            }
+            analyticsStatusLabel.setText("Updated " + LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+        } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
+            analyticsStatusLabel.setText("Error loading analytics: " + e.getMessage());
+        }
+        loadSystemHealth();
+    }
+
+    // In-memory counters, so this is cheap enough for every refresh; only the failed outbox rows come from the database
+    private void loadSystemHealth() {
+        DatabaseResilience.Metrics database = DatabaseResilience.getMetrics();
+        CircuitBreaker.Metrics breaker = database.breaker();
+        databaseHealthLabel.setText(String.format(
+                "🗄️ Database: circuit %s · %d succeeded · %d failed · %d rejected · opened %d× · %d retries",
+                breaker.state(), breaker.successes(), breaker.failures(), breaker.rejected(),
+                breaker.timesOpened(), database.retries()));
+        databaseHealthLabel.setStyle(healthStyle(breaker.state() == CircuitBreaker.State.CLOSED));
+
+        // Calls turned away by a global limit mean the limit, not one caller, is the bottleneck
+        RateLimitService.Metrics rateLimits = RateLimitService.getMetrics();
+        rateLimitHealthLabel.setText(String.format(
+                "🚦 Rate limited: registrations %d per participant, %d overall · logins %d per email, %d overall",
+                rateLimits.registerPerParticipant(), rateLimits.registerGlobal(), rateLimits.loginPerEmail(),
+                rateLimits.loginGlobal()));
+        rateLimitHealthLabel.setStyle(healthStyle(rateLimits.registerGlobal() == 0 && rateLimits.loginGlobal() == 0));
+
+        // Offline registrations journaled on this instance
+        List<OfflineRegistrationService.Conflict> conflicts = OfflineRegistrationService.getConflicts();
+        offlineHealthLabel.setText(String.format("📴 Offline registrations: %d waiting for replay · %d rejected",
+                OfflineRegistrationService.getPendingCount(), conflicts.size()));
+        offlineHealthLabel.setStyle(healthStyle(conflicts.isEmpty()));
+        if (conflicts.size() != offlineConflictsList.getItems().size()) {
+            List<String> rows = new ArrayList<>();
+            for (OfflineRegistrationService.Conflict conflict : conflicts) {
+                rows.add(conflict.rejectedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
+                        + " · participant " + conflict.participantId() + " · " + conflict.eventName() + ": "
+                        + conflict.reason());
+            }
+            offlineConflictsList.getItems().setAll(rows);
+        }
+        offlineConflictsList.setVisible(!conflicts.isEmpty());
+        offlineConflictsList.setManaged(!conflicts.isEmpty());
+
+        // Confirmation delivery on this instance, and the messages given up on by any node
+        long failed = OutboxService.getFailedCount();
+        if (failed != failedMessagesLoadedCount
+                || System.currentTimeMillis() - failedMessagesLoadedAt >= FAILED_MESSAGES_RELOAD_MILLIS) {
+            loadFailedMessages();
+            failedMessagesLoadedCount = failed;
+            failedMessagesLoadedAt = System.currentTimeMillis();
+        }
+        outboxHealthLabel.setText(String.format("✉️ Confirmations: %d sent · %d retries · %d given up",
+                OutboxService.getSentCount(), OutboxService.getRetryCount(), failed));
+        boolean anyFailed = !failedMessagesList.getItems().isEmpty();
+        outboxHealthLabel.setStyle(healthStyle(failed == 0 && !anyFailed));
+        failedMessagesList.setVisible(anyFailed);
+        failedMessagesList.setManaged(anyFailed);
+
+        // Entries dropped because the ring buffer was full or a segment could not be written are lost for good
+        long dropped = AuditService.getDroppedCount();
+        auditHealthLabel.setText(String.format("📜 Audit log: %d written · %d dropped",
+                AuditService.getWrittenCount(), dropped));
+        auditHealthLabel.setStyle(healthStyle(dropped == 0));
+    }
+
+    private void loadFailedMessages() {
+        try {
+            List<String> rows = new ArrayList<>();
+            for (OutboxMessage message : OutboxService.getFailedMessages(FAILED_MESSAGES_SHOWN)) {
+                rows.add(message.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
+                        + " · " + message.getRecipient() + " · " + message.getSubject() + " · "
+                        + message.getAttempts() + " attempts: " + message.getLastError());
+            }
+            failedMessagesList.getItems().setAll(rows);
+        } catch (Exception e) {
+            // Keep the rows already shown; the next refresh tries again
+            System.err.println("Error loading failed outbox messages: " + e.getMessage());
+        }
+    }
+
+    @FXML
+    private void dumpFlightRecording() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Flight Recording");
+        fileChooser.setInitialFileName("eventreg-" + LocalDate.now() + "-"
+                + LocalTime.now().format(DateTimeFormatter.ofPattern("HHmmss")) + ".jfr");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Flight recordings", "*.jfr"));
+        File file = fileChooser.showSaveDialog(analyticsTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        // A dialog rather than the status label, which the analytics refresh overwrites
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Flight Recording");
+        alert.setHeaderText(null);
+        alert.setContentText(FlightRecorderService.dump(file.toPath()));
+        alert.showAndWait();
+    }
+
+    private static String healthStyle(boolean healthy) {
+        return "-fx-font-size: 12px; -fx-text-fill: " + (healthy ? "#34495e;" : "#e74c3c; -fx-font-weight: bold;");
+    }
+
+    private static String formatSellOut(EventAnalytics analytics) {
+        java.time.Duration time = analytics.timeToSellOut();
+        if (time == null) {
+            return "—";
+        }
+        String formatted = time.toHours() > 0
+                ? time.toHours() + "h " + time.toMinutesPart() + "m"
+                : time.toMinutes() + "m " + time.toSecondsPart() + "s";
+        return analytics.soldOut() ? "Sold out in " + formatted : "~" + formatted + " at current rate";
+    }
+
+    // Search methods
+    private void filterEvents(String query) {
+        if (query == null || query.isBlank()) {
+            eventsTable.setItems(eventsList);
+            return;
+        }
+
+        Map<Long, EventSummary> eventsById = new HashMap<>();
+        for (EventSummary event : eventsList) {
+            eventsById.put(event.eventId(), event);
+        }
+        ObservableList<EventSummary> matches = FXCollections.observableArrayList();
+        for (Long eventId : SearchService.searchEvents(query)) {
+            EventSummary event = eventsById.get(eventId);
+            if (event != null) {
+                matches.add(event);
+            }
+        }
+        eventsTable.setItems(matches);
+    }
+
+    private void filterUsers(String query) {
+        if (query == null || query.isBlank()) {
+            usersTable.setItems(usersList);
+            return;
+        }
+
+        Map<Long, ParticipantSummary> usersById = new HashMap<>();
+        for (ParticipantSummary user : usersList) {
+            usersById.put(user.participantId(), user);
+        }
+        ObservableList<ParticipantSummary> matches = FXCollections.observableArrayList();
+        for (Long participantId : SearchService.searchParticipants(query)) {
+            ParticipantSummary user = usersById.get(participantId);
+            if (user != null) {
+                matches.add(user);
+            }
+        }
+        usersTable.setItems(matches);
+    }
+
     // Helper methods
     private void clearEventFields() {
         eventNameField.clear();
@@ -396,6 +813,122 @@ public class AdminController {
         userRoleComboBox.setValue(null);
     }
 
+    // Audience query methods
+    @FXML
+    private void runAudienceQuery() {
+        List<Long> included = selectedEventIds(audienceIncludeList);
+        List<Long> excluded = selectedEventIds(audienceExcludeList);
+        if (included.isEmpty() && excluded.isEmpty()) {
+            audienceStatusLabel.setText("Please select at least one event");
+            return;
+        }
+        try {
+            showAudience(RegistrationIndexService.query(audienceMatchComboBox.getValue(), included, excluded));
+        } catch (Exception e) {
+            audienceStatusLabel.setText("Error running query: " + e.getMessage());
+        }
+    }
+
+    @FXML
+    private void findUnregisteredParticipants() {
+        try {
+            showAudience(RegistrationIndexService.getUnregisteredParticipants());
+        } catch (Exception e) {
+            audienceStatusLabel.setText("Error running query: " + e.getMessage());
+        }
+    }
+
+    @FXML
+    private void clearAudienceQuery() {
+        audienceIncludeList.getSelectionModel().clearSelection();
+        audienceExcludeList.getSelectionModel().clearSelection();
+        audienceTable.getItems().clear();
+        audienceCountLabel.setText("No query yet");
+        audienceStatusLabel.setText("");
+        audienceResult = null;
+    }
+
+    @FXML
+    private void exportAudience() {
+        if (audienceResult == null) {
+            audienceStatusLabel.setText("Please run a query first");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Participants");
+        fileChooser.setInitialFileName("participants.csv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = fileChooser.showSaveDialog(audienceTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        try {
+            int written = RegistrationIndexService.exportParticipants(audienceResult, file.toPath());
+            audienceStatusLabel.setText("Exported " + written + " participants to " + file.getName());
+        } catch (Exception e) {
+            audienceStatusLabel.setText("Error exporting participants: " + e.getMessage());
+        }
+    }
+
+    private void showAudience(RoaringBitmap participantIds) {
+        audienceResult = participantIds;
+        long count = participantIds.cardinality();
+        audienceCountLabel.setText(count + (count == 1 ? " participant" : " participants"));
+
+        // Only the first rows are loaded for display; the export writes all of them
+        List<Long> firstIds = new ArrayList<>();
+        participantIds.forEach(id -> {
+            if (firstIds.size() < AUDIENCE_PREVIEW_ROWS) {
+                firstIds.add((long) id);
+            }
+        });
+        audienceTable.getItems().setAll(RegistrationIndexService.getParticipants(firstIds));
+        audienceStatusLabel.setText(count > AUDIENCE_PREVIEW_ROWS
+                ? "Showing the first " + AUDIENCE_PREVIEW_ROWS + "; export to get all of them" : "");
+    }
+
+    private static List<Long> selectedEventIds(ListView<EventSummary> list) {
+        List<Long> eventIds = new ArrayList<>();
+        for (EventSummary event : list.getSelectionModel().getSelectedItems()) {
+            eventIds.add(event.eventId());
+        }
+        return eventIds;
+    }
+
+    private void showAuditHistory(String title, List<AuditEvent> entries) {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        List<String> rows = new ArrayList<>();
+        for (AuditEvent entry : entries) {
+            StringBuilder row = new StringBuilder(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestamp()),
+                    ZoneId.systemDefault()).format(format)).append(" · ").append(entry.action());
+            if (entry.participantId() != null) {
+                row.append(" · participant ").append(entry.participantId());
+            }
+            if (entry.eventId() != null) {
+                row.append(" · event ").append(entry.eventId());
+            }
+            if (entry.details() != null) {
+                row.append(" · ").append(entry.details());
+            }
+            if (entry.actorId() != null) {
+                row.append(" · by ").append(entry.actorId());
+            }
+            rows.add(row.toString());
+        }
+
+        ListView<String> list = new ListView<>(FXCollections.observableArrayList(rows));
+        list.setPrefSize(640, 360);
+        list.setPlaceholder(new Label("No audit entries"));
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(entries.size() == AUDIT_HISTORY_ROWS
+                ? "Newest " + AUDIT_HISTORY_ROWS + " entries" : entries.size() + " entries");
+        alert.getDialogPane().setContent(list);
+        alert.showAndWait();
+    }
+
     private void showError(String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Error");
@@ -406,6 +939,9 @@ public class AdminController {
 
     @FXML
     private void handleLogout() {
+        if (analyticsRefresh != null) {
+            analyticsRefresh.stop();
+        }
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/org/example/eventregapp/login-view.fxml"));
             Scene scene = new Scene(loader.load());
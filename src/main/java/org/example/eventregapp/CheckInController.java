@@ -0,0 +1,122 @@
+package org.example.eventregapp;
+
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.stage.Stage;
+import org.example.eventregapp.diagnostics.DataLoadFlightEvent;
+import org.example.eventregapp.model.CheckInResult;
+import org.example.eventregapp.model.EventSummary;
+import org.example.eventregapp.service.CheckInService;
+import org.example.eventregapp.service.ReadModelService;
+
+import java.io.IOException;
+
+public class CheckInController {
+
+    @FXML
+    private ComboBox<EventSummary> eventComboBox;
+    @FXML
+    private Button openStationButton;
+    @FXML
+    private Button closeButton;
+    @FXML
+    private TextField ticketCodeField;
+    @FXML
+    private Label resultLabel;
+    @FXML
+    private Label countersLabel;
+    @FXML
+    private Label stationStatusLabel;
+
+    @FXML
+    private void initialize() {
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("CheckInController", "events", null);
+        flightEvent.begin();
+        try {
+            eventComboBox.getItems().setAll(ReadModelService.getAllEvents());
+            flightEvent.finish(eventComboBox.getItems().size(), "loaded");
+        } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
+            stationStatusLabel.setText("Error loading events: " + e.getMessage());
+        }
+        // A scanner types the code and presses Enter
+        ticketCodeField.setOnAction(e -> scanTicket());
+    }
+
+    @FXML
+    private void openStation() {
+        EventSummary selectedEvent = eventComboBox.getSelectionModel().getSelectedItem();
+        if (selectedEvent == null) {
+            stationStatusLabel.setText("Please select an event first");
+            return;
+        }
+
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("CheckInController", "tickets",
+                selectedEvent.eventId());
+        flightEvent.begin();
+        try {
+            int tickets = CheckInService.openStation(selectedEvent.eventId());
+            flightEvent.finish(tickets, "loaded");
+            stationStatusLabel.setText("Loaded " + tickets + " tickets for " + selectedEvent.eventName());
+            resultLabel.setText("");
+            updateCounters(selectedEvent.eventId());
+            ticketCodeField.requestFocus();
+        } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
+            stationStatusLabel.setText("Error opening check-in: " + e.getMessage());
+        }
+    }
+
+    private void scanTicket() {
+        EventSummary selectedEvent = eventComboBox.getSelectionModel().getSelectedItem();
+        if (selectedEvent == null) {
+            stationStatusLabel.setText("Please select an event first");
+            return;
+        }
+
+        CheckInResult result = CheckInService.scan(selectedEvent.eventId(), ticketCodeField.getText());
+        resultLabel.setText(result.message());
+        resultLabel.setStyle(result.status() == CheckInResult.Status.CHECKED_IN
+                ? "-fx-font-weight: bold; -fx-font-size: 22px; -fx-text-fill: #28a745;"
+                : "-fx-font-weight: bold; -fx-font-size: 22px; -fx-text-fill: #e74c3c;");
+        ticketCodeField.clear();
+        updateCounters(selectedEvent.eventId());
+    }
+
+    private void updateCounters(Long eventId) {
+        int pending = CheckInService.getPendingSyncCount();
+        countersLabel.setText("Checked in: " + CheckInService.getCheckedInCount(eventId) + " / "
+                + CheckInService.getTicketCount(eventId)
+                + (pending > 0 ? "   (" + pending + " waiting to sync)" : ""));
+    }
+
+    @FXML
+    private void handleClose() {
+        Stage stage = (Stage) closeButton.getScene().getWindow();
+        stage.close();
+    }
+
+    public static void showCheckInWindow() {
+        try {
+            FXMLLoader loader = new FXMLLoader(
+                    CheckInController.class.getResource("/org/example/eventregapp/check-in-view.fxml"));
+            Scene scene = new Scene(loader.load(), 700, 500);
+
+            Stage stage = new Stage();
+            stage.setTitle("INVENTE'25 | Check-in — SSN College of Engineering");
+            stage.setScene(scene);
+            stage.setResizable(true);
+            stage.centerOnScreen();
+            stage.show();
+
+        } catch (IOException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText(null);
+            alert.setContentText("Error loading check-in window: " + e.getMessage());
+            alert.showAndWait();
+        }
+    }
+}
@@ -4,6 +4,17 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.example.eventregapp.service.AdmissionService;
+import org.example.eventregapp.service.AnalyticsService;
+import org.example.eventregapp.service.AuditService;
+import org.example.eventregapp.service.CatalogSnapshotService;
+import org.example.eventregapp.service.CheckInService;
+import org.example.eventregapp.service.FlightRecorderService;
+import org.example.eventregapp.service.IdempotencyService;
+import org.example.eventregapp.service.OfflineRegistrationService;
+import org.example.eventregapp.service.OutboxService;
+import org.example.eventregapp.service.ReportingService;
+import org.example.eventregapp.service.SeatLeaseService;
 import org.example.eventregapp.util.DataInitializer;
 import org.example.eventregapp.util.LoginTest;
 
@@ -16,12 +27,36 @@ public class HelloApplication extends Application {
 
     @Override
     public void start(Stage stage) throws IOException {
+        // Continuous flight recording (-Deventreg.jfr=true) first, so startup is covered too
+        FlightRecorderService.start();
+
+        // Audit writer first, so nothing done during startup is dropped
+        AuditService.start();
+
         // Initialize default data (admin and user accounts)
         DataInitializer.initializeDefaultData();
 
         // Test login connection to Participant table
         LoginTest.testLoginConnection();
 
+        // Fold the reporting change log into the daily aggregate tables
+        ReportingService.start();
+
+        // Send registration confirmations queued in the outbox
+        OutboxService.start();
+
+        // Purge idempotency keys past their retention in the background
+        IdempotencyService.start();
+
+        // Registration analytics are read from the database once and then kept up to date in memory
+        AnalyticsService.rebuild();
+
+        // Replay registrations taken offline during a previous outage
+        OfflineRegistrationService.start();
+
+        // Keep the catalog snapshot used for instant start-up current
+        CatalogSnapshotService.startPeriodicWrites();
+
         FXMLLoader fxmlLoader = new FXMLLoader(HelloApplication.class.getResource("login-view.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 700, 650);
         stage.setTitle("INVENTE'25 | SSN College of Engineering");
@@ -31,6 +66,21 @@ public class HelloApplication extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        // Give unused leased seats and waiting-room slots back to the other nodes
+        SeatLeaseService.releaseAll();
+        AdmissionService.releaseAll();
+        OfflineRegistrationService.stop();
+        CatalogSnapshotService.stop();
+        ReportingService.stop();
+        OutboxService.stop();
+        IdempotencyService.stop();
+        CheckInService.stop();
+        AuditService.stop();
+        FlightRecorderService.stop();
+    }
+
     public static void main(String[] args) {
         launch();
     }
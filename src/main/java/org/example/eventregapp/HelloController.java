@@ -5,10 +5,17 @@ import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
+import org.example.eventregapp.diagnostics.DataLoadFlightEvent;
 import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.EventSummary;
 import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.model.ParticipantSummary;
+import org.example.eventregapp.service.DeletionService;
+import org.example.eventregapp.service.ReadModelService;
+import org.example.eventregapp.service.RegistrationIndexService;
+import org.example.eventregapp.service.ReportingService;
 import org.example.eventregapp.util.DatabaseUtil;
+import org.example.eventregapp.util.TableCells;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
@@ -21,15 +28,15 @@ public class HelloController implements Initializable {
 
     // Event components
     @FXML
-    private TableView<Event> eventsTable;
+    private TableView<EventSummary> eventsTable;
     @FXML
-    private TableColumn<Event, String> eventNameColumn;
+    private TableColumn<EventSummary, String> eventNameColumn;
     @FXML
-    private TableColumn<Event, String> eventDateColumn;
+    private TableColumn<EventSummary, LocalDate> eventDateColumn;
     @FXML
-    private TableColumn<Event, Integer> totalSeatsColumn;
+    private TableColumn<EventSummary, Integer> totalSeatsColumn;
     @FXML
-    private TableColumn<Event, Integer> availableSeatsColumn;
+    private TableColumn<EventSummary, Integer> availableSeatsColumn;
     @FXML
     private TextField eventNameField;
     @FXML
@@ -47,13 +54,13 @@ public class HelloController implements Initializable {
 
     // Participant components
     @FXML
-    private TableView<Participant> participantsTable;
+    private TableView<ParticipantSummary> participantsTable;
     @FXML
-    private TableColumn<Participant, String> participantNameColumn;
+    private TableColumn<ParticipantSummary, String> participantNameColumn;
     @FXML
-    private TableColumn<Participant, String> participantEmailColumn;
+    private TableColumn<ParticipantSummary, String> participantEmailColumn;
     @FXML
-    private TableColumn<Participant, String> participantRoleColumn;
+    private TableColumn<ParticipantSummary, String> participantRoleColumn;
     @FXML
     private TextField participantNameField;
     @FXML
@@ -72,8 +79,8 @@ public class HelloController implements Initializable {
     private Label participantStatusLabel;
 
     // Observable lists
-    private ObservableList<Event> eventsList;
-    private ObservableList<Participant> participantsList;
+    private ObservableList<EventSummary> eventsList;
+    private ObservableList<ParticipantSummary> participantsList;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -96,16 +103,16 @@ public class HelloController implements Initializable {
     }
 
     private void setupEventTableColumns() {
-        eventNameColumn.setCellValueFactory(new PropertyValueFactory<>("eventName"));
-        eventDateColumn.setCellValueFactory(new PropertyValueFactory<>("eventDate"));
-        totalSeatsColumn.setCellValueFactory(new PropertyValueFactory<>("totalSeats"));
-        availableSeatsColumn.setCellValueFactory(new PropertyValueFactory<>("availableSeats"));
+        eventNameColumn.setCellValueFactory(TableCells.value(EventSummary::eventName));
+        eventDateColumn.setCellValueFactory(TableCells.value(EventSummary::eventDate));
+        totalSeatsColumn.setCellValueFactory(TableCells.value(EventSummary::totalSeats));
+        availableSeatsColumn.setCellValueFactory(TableCells.value(EventSummary::availableSeats));
     }
 
     private void setupParticipantTableColumns() {
-        participantNameColumn.setCellValueFactory(new PropertyValueFactory<>("fullName"));
-        participantEmailColumn.setCellValueFactory(new PropertyValueFactory<>("email"));
-        participantRoleColumn.setCellValueFactory(new PropertyValueFactory<>("role"));
+        participantNameColumn.setCellValueFactory(TableCells.value(ParticipantSummary::fullName));
+        participantEmailColumn.setCellValueFactory(TableCells.value(ParticipantSummary::email));
+        participantRoleColumn.setCellValueFactory(TableCells.value(ParticipantSummary::role));
     }
 
     // Event CRUD Operations
@@ -130,6 +137,7 @@ public class HelloController implements Initializable {
                 Transaction transaction = session.beginTransaction();
                 session.save(event);
                 transaction.commit();
+                DatabaseUtil.recordWrite();
                 eventStatusLabel.setText("Event added successfully");
                 clearEventFields();
                 loadEvents();
@@ -142,7 +150,7 @@ public class HelloController implements Initializable {
 
     @FXML
     private void updateEvent() {
-        Event selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
+        EventSummary selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
         if (selectedEvent == null) {
             eventStatusLabel.setText("Please select an event to update");
             return;
@@ -158,14 +166,14 @@ public class HelloController implements Initializable {
                 return;
             }
 
-            selectedEvent.setEventName(name);
-            selectedEvent.setEventDate(LocalDate.parse(dateStr));
-            selectedEvent.setTotalSeats(Integer.parseInt(seatsStr));
-
             try (Session session = DatabaseUtil.getSession()) {
                 Transaction transaction = session.beginTransaction();
-                session.update(selectedEvent);
+                Event event = session.get(Event.class, selectedEvent.eventId());
+                event.setEventName(name);
+                event.setEventDate(LocalDate.parse(dateStr));
+                event.setTotalSeats(Integer.parseInt(seatsStr));
                 transaction.commit();
+                DatabaseUtil.recordWrite();
                 eventStatusLabel.setText("Event updated successfully");
                 clearEventFields();
                 loadEvents();
@@ -178,21 +186,14 @@ public class HelloController implements Initializable {
 
     @FXML
     private void deleteEvent() {
-        Event selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
+        EventSummary selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
         if (selectedEvent == null) {
             eventStatusLabel.setText("Please select an event to delete");
             return;
         }
 
-        try (Session session = DatabaseUtil.getSession()) {
-            Transaction transaction = session.beginTransaction();
-            session.delete(selectedEvent);
-            transaction.commit();
-            eventStatusLabel.setText("Event deleted successfully");
-            loadEvents();
-        } catch (Exception e) {
-            eventStatusLabel.setText("Error: " + e.getMessage());
-        }
+        eventStatusLabel.setText(DeletionService.deleteEvents(List.of(selectedEvent.eventId())));
+        loadEvents();
     }
 
     // Participant CRUD Operations
@@ -214,7 +215,10 @@ public class HelloController implements Initializable {
             try (Session session = DatabaseUtil.getSession()) {
                 Transaction transaction = session.beginTransaction();
                 session.save(participant);
+                ReportingService.recordParticipantAdded(session, role);
                 transaction.commit();
+                DatabaseUtil.recordWrite();
+                RegistrationIndexService.addParticipant(participant.getParticipantId());
                 participantStatusLabel.setText("Participant added successfully");
                 clearParticipantFields();
                 loadParticipants();
@@ -227,7 +231,7 @@ public class HelloController implements Initializable {
 
     @FXML
     private void updateParticipant() {
-        Participant selectedParticipant = participantsTable.getSelectionModel().getSelectedItem();
+        ParticipantSummary selectedParticipant = participantsTable.getSelectionModel().getSelectedItem();
         if (selectedParticipant == null) {
             participantStatusLabel.setText("Please select a participant to update");
             return;
@@ -244,15 +248,19 @@ public class HelloController implements Initializable {
                 return;
             }
 
-            selectedParticipant.setFullName(name);
-            selectedParticipant.setEmail(email);
-            selectedParticipant.setPassword(password);
-            selectedParticipant.setRole(role);
-
             try (Session session = DatabaseUtil.getSession()) {
                 Transaction transaction = session.beginTransaction();
-                session.update(selectedParticipant);
+                Participant participant = session.get(Participant.class, selectedParticipant.participantId());
+                if (!role.equals(participant.getRole())) {
+                    ReportingService.recordParticipantRemoved(session, participant.getRole(), List.of());
+                    ReportingService.recordParticipantAdded(session, role);
+                }
+                participant.setFullName(name);
+                participant.setEmail(email);
+                participant.setPassword(password);
+                participant.setRole(role);
                 transaction.commit();
+                DatabaseUtil.recordWrite();
                 participantStatusLabel.setText("Participant updated successfully");
                 clearParticipantFields();
                 loadParticipants();
@@ -265,42 +273,44 @@ public class HelloController implements Initializable {
 
     @FXML
     private void deleteParticipant() {
-        Participant selectedParticipant = participantsTable.getSelectionModel().getSelectedItem();
+        ParticipantSummary selectedParticipant = participantsTable.getSelectionModel().getSelectedItem();
         if (selectedParticipant == null) {
             participantStatusLabel.setText("Please select a participant to delete");
             return;
         }
 
-        try (Session session = DatabaseUtil.getSession()) {
-            Transaction transaction = session.beginTransaction();
-            session.delete(selectedParticipant);
-            transaction.commit();
-            participantStatusLabel.setText("Participant deleted successfully");
-            loadParticipants();
-        } catch (Exception e) {
-            participantStatusLabel.setText("Error: " + e.getMessage());
-        }
+        participantStatusLabel
+                .setText(DeletionService.deleteParticipants(List.of(selectedParticipant.participantId())));
+        loadParticipants();
     }
 
     // Load data methods
     private void loadEvents() {
-        try (Session session = DatabaseUtil.getSession()) {
-            List<Event> events = session.createQuery("FROM Event", Event.class).list();
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("HelloController", "events", null);
+        flightEvent.begin();
+        try {
+            List<EventSummary> events = ReadModelService.getAllEvents();
             eventsList.clear();
             eventsList.addAll(events);
             eventsTable.setItems(eventsList);
+            flightEvent.finish(events.size(), "loaded");
         } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
             eventStatusLabel.setText("Error loading events: " + e.getMessage());
         }
     }
 
     private void loadParticipants() {
-        try (Session session = DatabaseUtil.getSession()) {
-            List<Participant> participants = session.createQuery("FROM Participant", Participant.class).list();
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("HelloController", "participants", null);
+        flightEvent.begin();
+        try {
+            List<ParticipantSummary> participants = ReadModelService.getAllParticipants();
             participantsList.clear();
             participantsList.addAll(participants);
             participantsTable.setItems(participantsList);
+            flightEvent.finish(participants.size(), "loaded");
         } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
             participantStatusLabel.setText("Error loading participants: " + e.getMessage());
         }
     }
@@ -8,9 +8,15 @@ import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import org.example.eventregapp.model.AuditEvent;
 import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.service.AuditService;
 import org.example.eventregapp.service.AuthenticationService;
+import org.example.eventregapp.service.RegistrationIndexService;
+import org.example.eventregapp.service.ReportingService;
+import org.example.eventregapp.service.SearchService;
 import org.example.eventregapp.util.DatabaseUtil;
+import org.example.eventregapp.util.RateLimitExceededException;
 import org.example.eventregapp.util.ValidationUtil;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
@@ -56,6 +62,9 @@ public class LoginController {
             // Clear any previous errors
             clearError();
 
+            // Attribute audited actions to this user
+            AuditService.setActor(participant);
+
             // Redirect based on role from Participant table
             if (AuthenticationService.isAdmin(participant)) {
                 redirectToAdminPanel(participant);
@@ -65,6 +74,8 @@ public class LoginController {
                 showError("Invalid user role: " + AuthenticationService.getUserRole(participant));
             }
 
+        } catch (RateLimitExceededException e) {
+            showError(e.getMessage());
         } catch (Exception e) {
             showError("Login error: " + e.getMessage());
             e.printStackTrace(); // For debugging
@@ -181,7 +192,13 @@ public class LoginController {
                 try (Session session = DatabaseUtil.getSession()) {
                     Transaction transaction = session.beginTransaction();
                     session.save(participant);
+                    ReportingService.recordParticipantAdded(session, participant.getRole());
                     transaction.commit();
+                    DatabaseUtil.recordWrite();
+                    SearchService.indexParticipant(participant);
+                    RegistrationIndexService.addParticipant(participant.getParticipantId());
+                    AuditService.record(AuditEvent.Action.USER_SIGNED_UP, participant.getParticipantId(), null,
+                            participant.getEmail());
                     showSuccess("Account created successfully! Please login with your credentials.");
                     // Clear the login fields
                     emailField.clear();
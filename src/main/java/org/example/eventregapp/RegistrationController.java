@@ -7,31 +7,45 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
-import org.example.eventregapp.model.Event;
-import org.example.eventregapp.model.Registration;
+import org.example.eventregapp.diagnostics.DataLoadFlightEvent;
+import org.example.eventregapp.model.EventSummary;
+import org.example.eventregapp.model.RegistrationSummary;
+import org.example.eventregapp.service.ReadModelService;
 import org.example.eventregapp.service.RegistrationService;
-import org.example.eventregapp.util.DatabaseUtil;
-import org.hibernate.Session;
+import org.example.eventregapp.service.SearchService;
+import org.example.eventregapp.util.TableCells;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class RegistrationController {
 
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @FXML
+    private TextField eventSearchField;
     @FXML
-    private ComboBox<Event> eventComboBox;
+    private ComboBox<EventSummary> eventComboBox;
     @FXML
     private Button loadRegistrationsButton;
     @FXML
     private Button closeButton;
     @FXML
-    private TableView<Registration> registrationsTable;
+    private TextField participantSearchField;
     @FXML
-    private TableColumn<Registration, String> registrationParticipantColumn;
+    private TableView<RegistrationSummary> registrationsTable;
     @FXML
-    private TableColumn<Registration, String> registrationEventColumn;
+    private TableColumn<RegistrationSummary, String> registrationParticipantColumn;
     @FXML
-    private TableColumn<Registration, String> registrationDateColumn;
+    private TableColumn<RegistrationSummary, String> registrationEventColumn;
+    @FXML
+    private TableColumn<RegistrationSummary, LocalDateTime> registrationDateColumn;
     @FXML
     private Button removeRegistrationButton;
     @FXML
@@ -41,8 +55,8 @@ public class RegistrationController {
     @FXML
     private Label registrationStatusLabel;
 
-    private ObservableList<Event> eventsList;
-    private ObservableList<Registration> registrationsList;
+    private ObservableList<EventSummary> eventsList;
+    private ObservableList<RegistrationSummary> registrationsList;
 
     @FXML
     private void initialize() {
@@ -54,6 +68,11 @@ public class RegistrationController {
             // Setup table columns
             setupRegistrationTableColumns();
 
+            // Search boxes narrow the event list and the loaded registrations
+            eventSearchField.textProperty().addListener((obs, oldText, newText) -> filterEvents(newText));
+            participantSearchField.textProperty()
+                    .addListener((obs, oldText, newText) -> filterRegistrations(newText));
+
             // Load events for combo box
             loadEvents();
 
@@ -63,99 +82,106 @@ public class RegistrationController {
     }
 
     private void setupRegistrationTableColumns() {
-        registrationParticipantColumn.setCellValueFactory(cellData -> {
-            Registration registration = cellData.getValue();
-            try {
-                return new javafx.beans.property.SimpleStringProperty(
-                        registration.getParticipant().getFullName());
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("N/A");
-            }
-        });
-        registrationEventColumn.setCellValueFactory(cellData -> {
-            Registration registration = cellData.getValue();
-            try {
-                return new javafx.beans.property.SimpleStringProperty(
-                        registration.getEvent().getEventName());
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("N/A");
-            }
-        });
-        registrationDateColumn.setCellValueFactory(cellData -> {
-            Registration registration = cellData.getValue();
-            try {
-                return new javafx.beans.property.SimpleStringProperty(
-                        registration.getRegistrationDate().toString());
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("N/A");
-            }
-        });
+        // Rows are projections with the names already selected, so no lazy loading can fail here
+        registrationParticipantColumn.setCellValueFactory(TableCells.value(RegistrationSummary::participantName));
+        registrationEventColumn.setCellValueFactory(TableCells.value(RegistrationSummary::eventName));
+        registrationDateColumn.setCellValueFactory(TableCells.value(RegistrationSummary::registrationDate));
+        registrationDateColumn.setCellFactory(TableCells.text(DATE_TIME_FORMAT::format));
     }
 
     private void loadEvents() {
-        try (Session session = DatabaseUtil.getSession()) {
-            List<Event> events = session.createQuery("FROM Event ORDER BY eventDate ASC", Event.class).list();
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("RegistrationController", "events", null);
+        flightEvent.begin();
+        try {
+            List<EventSummary> events = ReadModelService.getAllEvents();
             eventsList.clear();
             eventsList.addAll(events);
-            eventComboBox.setItems(eventsList);
+            filterEvents(eventSearchField.getText());
+            flightEvent.finish(events.size(), "loaded");
         } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
             eventStatusLabel.setText("Error loading events: " + e.getMessage());
         }
     }
 
     @FXML
     private void loadRegistrations() {
-        Event selectedEvent = eventComboBox.getSelectionModel().getSelectedItem();
+        EventSummary selectedEvent = eventComboBox.getSelectionModel().getSelectedItem();
         if (selectedEvent == null) {
             eventStatusLabel.setText("Please select an event first");
             return;
         }
 
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("RegistrationController", "registrations",
+                selectedEvent.eventId());
+        flightEvent.begin();
         try {
-            // Load registrations with proper eager fetching to avoid lazy loading issues
-            List<Registration> registrations = loadRegistrationsWithParticipants(selectedEvent);
+            List<RegistrationSummary> registrations = ReadModelService.getEventRegistrations(selectedEvent.eventId());
             registrationsList.clear();
             registrationsList.addAll(registrations);
-            registrationsTable.setItems(registrationsList);
+            filterRegistrations(participantSearchField.getText());
 
             eventStatusLabel
-                    .setText("Loaded " + registrations.size() + " registrations for " + selectedEvent.getEventName());
+                    .setText("Loaded " + registrations.size() + " registrations for " + selectedEvent.eventName());
             registrationStatusLabel.setText("");
+            flightEvent.finish(registrations.size(), "loaded");
 
         } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
             eventStatusLabel.setText("Error loading registrations: " + e.getMessage());
             e.printStackTrace(); // For debugging
         }
     }
 
-    private List<Registration> loadRegistrationsWithParticipants(Event event) {
-        try (Session session = DatabaseUtil.getSession()) {
-            // Use JOIN FETCH to eagerly load participant and event data
-            String query = "SELECT r FROM Registration r " +
-                    "JOIN FETCH r.participant p " +
-                    "JOIN FETCH r.event e " +
-                    "WHERE r.event = :event " +
-                    "ORDER BY r.registrationDate DESC";
-
-            return session.createQuery(query, Registration.class)
-                    .setParameter("event", event)
-                    .list();
-        } catch (Exception e) {
-            System.err.println("Error loading registrations: " + e.getMessage());
-            e.printStackTrace();
-            return List.of();
+    private void filterEvents(String query) {
+        if (query == null || query.isBlank()) {
+            eventComboBox.setItems(eventsList);
+            return;
+        }
+
+        Map<Long, EventSummary> eventsById = new HashMap<>();
+        for (EventSummary event : eventsList) {
+            eventsById.put(event.eventId(), event);
+        }
+        ObservableList<EventSummary> matches = FXCollections.observableArrayList();
+        for (Long eventId : SearchService.searchEvents(query)) {
+            EventSummary event = eventsById.get(eventId);
+            if (event != null) {
+                matches.add(event);
+            }
+        }
+        eventComboBox.setItems(matches);
+        if (!matches.isEmpty()) {
+            eventComboBox.show();
+        }
+    }
+
+    private void filterRegistrations(String query) {
+        if (query == null || query.isBlank()) {
+            registrationsTable.setItems(registrationsList);
+            return;
+        }
+
+        // Keep the registration date order, only drop rows whose participant does not match
+        Set<Long> participantIds = new HashSet<>(SearchService.searchParticipants(query));
+        ObservableList<RegistrationSummary> matches = FXCollections.observableArrayList();
+        for (RegistrationSummary registration : registrationsList) {
+            if (participantIds.contains(registration.participantId())) {
+                matches.add(registration);
+            }
         }
+        registrationsTable.setItems(matches);
     }
 
     @FXML
     private void removeRegistration() {
-        Registration selectedRegistration = registrationsTable.getSelectionModel().getSelectedItem();
+        RegistrationSummary selectedRegistration = registrationsTable.getSelectionModel().getSelectedItem();
         if (selectedRegistration == null) {
             registrationStatusLabel.setText("Please select a registration to remove");
             return;
         }
 
-        String result = RegistrationService.removeRegistrationById(selectedRegistration.getRegistrationId());
+        String result = RegistrationService.removeRegistrationById(selectedRegistration.registrationId());
         registrationStatusLabel.setText(result);
 
         if (result.contains("successful")) {
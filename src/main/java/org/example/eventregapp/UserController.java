@@ -1,37 +1,62 @@
 package org.example.eventregapp;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
-import org.example.eventregapp.model.Event;
+import org.example.eventregapp.diagnostics.DataLoadFlightEvent;
+import org.example.eventregapp.model.EventSummary;
 import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.service.AdmissionService;
+import org.example.eventregapp.service.CatalogSnapshotService;
+import org.example.eventregapp.service.EventCalendarService;
+import org.example.eventregapp.service.OfflineRegistrationService;
+import org.example.eventregapp.service.ReadModelService;
 import org.example.eventregapp.service.RegistrationService;
-import org.example.eventregapp.util.DatabaseUtil;
-import org.hibernate.Session;
+import org.example.eventregapp.util.EventCalendarIndex;
+import org.example.eventregapp.util.LongHashSet;
+import org.example.eventregapp.util.TableCells;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 public class UserController {
 
+    private static final String VIEW_ALL = "All Upcoming";
+    private static final String VIEW_THIS_WEEK = "This Week";
+    private static final String VIEW_NEXT_WEEK = "Next Week";
+    private static final String VIEW_NEXT_FIVE = "Next 5 Events";
+
     private Participant currentUser;
 
     // Event components
     @FXML
-    private TableView<Event> eventsTable;
+    private TableView<EventSummary> eventsTable;
+    @FXML
+    private TableColumn<EventSummary, String> eventNameColumn;
     @FXML
-    private TableColumn<Event, String> eventNameColumn;
+    private TableColumn<EventSummary, LocalDate> eventDateColumn;
     @FXML
-    private TableColumn<Event, String> eventDateColumn;
+    private TableColumn<EventSummary, Integer> totalSeatsColumn;
     @FXML
-    private TableColumn<Event, Integer> totalSeatsColumn;
+    private TableColumn<EventSummary, Integer> availableSeatsColumn;
     @FXML
-    private TableColumn<Event, Integer> availableSeatsColumn;
+    private TableColumn<EventSummary, Boolean> registeredColumn;
+    @FXML
+    private ComboBox<String> calendarViewComboBox;
     @FXML
     private Button registerButton;
     @FXML
@@ -46,7 +71,17 @@ public class UserController {
     private Button logoutButton;
 
     // Observable lists
-    private ObservableList<Event> eventsList;
+    private ObservableList<EventSummary> eventsList;
+
+    // Events the user is registered for, loaded once at login and kept up to date by this view
+    private LongHashSet registeredEventIds = new LongHashSet();
+
+    // Of those, the ones taken offline and not yet confirmed by the database
+    private LongHashSet pendingEventIds = new LongHashSet();
+
+    // Idempotency keys for the current selection, so repeated clicks replay the first result
+    private String registerKey;
+    private String unregisterKey;
 
     public void setCurrentUser(Participant user) {
         this.currentUser = user;
@@ -68,11 +103,28 @@ public class UserController {
             // Initialize observable lists
             eventsList = FXCollections.observableArrayList();
 
+            DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("UserController", "registered event IDs", null);
+            flightEvent.begin();
+            registeredEventIds = RegistrationService.getRegisteredEventIdSet(currentUser);
+            flightEvent.finish(registeredEventIds.size(), "loaded");
+
             // Setup table columns
             setupEventTableColumns();
 
+            // Calendar view filters the loaded events through the date index
+            calendarViewComboBox.getItems().setAll(VIEW_ALL, VIEW_THIS_WEEK, VIEW_NEXT_WEEK, VIEW_NEXT_FIVE);
+            calendarViewComboBox.setValue(VIEW_ALL);
+            calendarViewComboBox.valueProperty().addListener((obs, oldView, newView) -> applyCalendarView());
+
+            // Several events can be selected and registered for in one go; a new selection is a new request
+            eventsTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+            eventsTable.getSelectionModel().getSelectedItems().addListener((ListChangeListener<EventSummary>) change -> {
+                registerKey = null;
+                unregisterKey = null;
+            });
+
             // Load initial data
-            loadEvents();
+            loadEventsFromSnapshot();
 
         } catch (Exception e) {
             showError("Error initializing application: " + e.getMessage());
@@ -80,59 +132,238 @@ public class UserController {
     }
 
     private void setupEventTableColumns() {
-        eventNameColumn.setCellValueFactory(new PropertyValueFactory<>("eventName"));
-        eventDateColumn.setCellValueFactory(new PropertyValueFactory<>("eventDate"));
-        totalSeatsColumn.setCellValueFactory(new PropertyValueFactory<>("totalSeats"));
-        availableSeatsColumn.setCellValueFactory(new PropertyValueFactory<>("availableSeats"));
+        eventNameColumn.setCellValueFactory(TableCells.value(EventSummary::eventName));
+        eventDateColumn.setCellValueFactory(TableCells.value(EventSummary::eventDate));
+        totalSeatsColumn.setCellValueFactory(TableCells.value(EventSummary::totalSeats));
+        availableSeatsColumn.setCellValueFactory(TableCells.value(EventSummary::availableSeats));
+        registeredColumn.setCellValueFactory(TableCells.flag(event -> registeredEventIds.contains(event.eventId())));
+        registeredColumn.setCellFactory(TableCells.rowText((event, registered) -> !registered ? ""
+                : pendingEventIds.contains(event.eventId()) ? "⏳ Pending" : "✅ Registered"));
     }
 
     // Registration methods
     @FXML
     private void registerForEvent() {
-        Event selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
-        if (selectedEvent == null) {
+        List<EventSummary> selectedEvents = List.copyOf(eventsTable.getSelectionModel().getSelectedItems());
+        if (selectedEvents.isEmpty()) {
             eventStatusLabel.setText("Please select an event to register");
             return;
         }
 
-        String result = RegistrationService.registerForEvent(currentUser, selectedEvent);
-        eventStatusLabel.setText(result);
+        // Duplicates are answered from the registrations loaded at login, without a database call
+        List<Long> eventIds = new ArrayList<>();
+        List<String> alreadyRegistered = new ArrayList<>();
+        for (EventSummary event : selectedEvents) {
+            eventIds.add(event.eventId());
+            if (registeredEventIds.contains(event.eventId())) {
+                alreadyRegistered.add(event.eventName());
+            }
+        }
+        if (!alreadyRegistered.isEmpty()) {
+            eventStatusLabel.setText(selectedEvents.size() == 1
+                    ? "You are already registered for this event"
+                    : "You are already registered for " + String.join(", ", alreadyRegistered));
+            return;
+        }
 
-        if (result.contains("successful")) {
-            loadEvents(); // Refresh the events list
+        // Warn about other registrations on the same day before registering; the rest of the cart counts too
+        Map<Long, EventCalendarIndex.Entry> clashes = new LinkedHashMap<>();
+        for (EventSummary event : selectedEvents) {
+            for (EventCalendarIndex.Entry clash : EventCalendarService.findClashes(event.eventId(),
+                    event.eventDate(), id -> registeredEventIds.contains(id) || eventIds.contains(id))) {
+                clashes.putIfAbsent(clash.eventId(), clash);
+            }
         }
+        if (!clashes.isEmpty() && !confirmClash(selectedEvents, clashes.values())) {
+            eventStatusLabel.setText("Registration cancelled");
+            return;
+        }
+
+        if (registerKey == null) {
+            registerKey = UUID.randomUUID().toString();
+        }
+        String key = registerKey;
+
+        // Registration goes through the waiting room on a background thread; the label shows the queue position.
+        // Several selected events are registered together, all or nothing
+        Task<String> registration = new Task<>() {
+            @Override
+            protected String call() throws Exception {
+                return AdmissionService.runAdmitted(
+                        () -> eventIds.size() == 1
+                                ? RegistrationService.registerForEvent(currentUser, eventIds.get(0), key)
+                                : RegistrationService.registerForEvents(currentUser, eventIds, key),
+                        position -> updateMessage("Waiting room: you are number " + position + " in line"));
+            }
+        };
+        registration.messageProperty().addListener((obs, oldMessage, newMessage) -> eventStatusLabel.setText(newMessage));
+        registration.setOnSucceeded(workerEvent -> {
+            registerButton.setDisable(false);
+            String result = registration.getValue();
+            eventStatusLabel.setText(result);
+            unregisterKey = null;
+
+            if (result.contains("successful") || result.equals(OfflineRegistrationService.PROVISIONAL_MESSAGE)) {
+                eventIds.forEach(registeredEventIds::add);
+                if (!result.contains("successful")) {
+                    eventIds.forEach(pendingEventIds::add);
+                }
+                eventsTable.refresh();
+            }
+            if (result.contains("successful")) {
+                loadEvents(); // Refresh the events list
+            }
+        });
+        registration.setOnFailed(workerEvent -> {
+            registerButton.setDisable(false);
+            eventStatusLabel.setText("Registration failed: " + registration.getException().getMessage());
+        });
+
+        registerButton.setDisable(true);
+        Thread thread = new Thread(registration, "registration");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     @FXML
     private void unregisterFromEvent() {
-        Event selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
+        EventSummary selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
         if (selectedEvent == null) {
             eventStatusLabel.setText("Please select an event to unregister");
             return;
         }
 
-        String result = RegistrationService.removeRegistration(currentUser, selectedEvent);
+        if (unregisterKey == null) {
+            unregisterKey = UUID.randomUUID().toString();
+        }
+        String result = RegistrationService.removeRegistration(currentUser, selectedEvent.eventId(), unregisterKey);
         eventStatusLabel.setText(result);
+        registerKey = null;
 
         if (result.contains("successful")) {
+            registeredEventIds.remove(selectedEvent.eventId());
             loadEvents(); // Refresh the events list
         }
     }
 
     // Load data methods
+
+    // Show the saved catalog right away, then reconcile it with the database in the background
+    private void loadEventsFromSnapshot() {
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("UserController", "events (snapshot)", null);
+        flightEvent.begin();
+        List<EventSummary> saved = CatalogSnapshotService.getSnapshotUpcomingEvents();
+        if (saved.isEmpty()) {
+            flightEvent.finish(0, "no snapshot");
+            loadEvents();
+            return;
+        }
+        showEvents(saved);
+        flightEvent.finish(saved.size(), "loaded");
+        refreshOfflineRegistrations();
+
+        Task<List<EventSummary>> reconcile = new Task<>() {
+            @Override
+            protected List<EventSummary> call() {
+                return CatalogSnapshotService.reconcile() ? CatalogSnapshotService.getSnapshotUpcomingEvents() : null;
+            }
+        };
+        reconcile.setOnSucceeded(workerEvent -> {
+            if (reconcile.getValue() != null) {
+                showEvents(reconcile.getValue());
+            }
+        });
+        reconcile.setOnFailed(workerEvent -> eventStatusLabel
+                .setText("Showing saved events, database not reachable: " + reconcile.getException().getMessage()));
+
+        Thread thread = new Thread(reconcile, "catalog-reconcile");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     private void loadEvents() {
-        try (Session session = DatabaseUtil.getSession()) {
+        DataLoadFlightEvent flightEvent = new DataLoadFlightEvent("UserController", "events", null);
+        flightEvent.begin();
+        try {
             // Load only available events (future dates and not full) for users
-            String query = "FROM Event e WHERE e.eventDate > :today AND e.registrationCount < e.totalSeats ORDER BY e.eventDate ASC";
-            List<Event> events = session.createQuery(query, Event.class)
-                    .setParameter("today", java.time.LocalDate.now())
-                    .list();
-            eventsList.clear();
-            eventsList.addAll(events);
-            eventsTable.setItems(eventsList);
+            List<EventSummary> events = ReadModelService.getUpcomingEvents();
+            showEvents(events);
+            flightEvent.finish(events.size(), "loaded");
         } catch (Exception e) {
+            flightEvent.finish(0, "error: " + e.getMessage());
             eventStatusLabel.setText("Error loading events: " + e.getMessage());
         }
+        refreshOfflineRegistrations();
+    }
+
+    // The calendar index only sees this instance's event writes, so it is brought up to date from the loaded rows
+    private void showEvents(List<EventSummary> events) {
+        eventsList.setAll(events);
+        EventCalendarService.indexEvents(events);
+        applyCalendarView();
+    }
+
+    // Registrations taken offline are confirmed or rejected by the background replay; the user was told
+    // they would be confirmed, so a rejection is reported on the next load and the event is free again
+    private void refreshOfflineRegistrations() {
+        Long participantId = currentUser.getParticipantId();
+        pendingEventIds = OfflineRegistrationService.getPendingEventIds(participantId);
+        List<OfflineRegistrationService.Conflict> rejected =
+                OfflineRegistrationService.takeUnseenConflicts(participantId);
+        if (!rejected.isEmpty()) {
+            List<String> reasons = new ArrayList<>();
+            for (OfflineRegistrationService.Conflict conflict : rejected) {
+                registeredEventIds.remove(conflict.eventId());
+                reasons.add(conflict.eventName() + " (" + conflict.reason() + ")");
+            }
+            eventStatusLabel.setText("Offline registration could not be confirmed: " + String.join(", ", reasons));
+        }
+        eventsTable.refresh();
+    }
+
+    private void applyCalendarView() {
+        String view = calendarViewComboBox.getValue();
+        LocalDate today = LocalDate.now();
+        List<EventCalendarIndex.Entry> entries;
+        if (VIEW_THIS_WEEK.equals(view)) {
+            entries = EventCalendarService.getWeek(today);
+        } else if (VIEW_NEXT_WEEK.equals(view)) {
+            entries = EventCalendarService.getWeek(today.plusWeeks(1));
+        } else if (VIEW_NEXT_FIVE.equals(view)) {
+            entries = EventCalendarService.getNextEvents(today.plusDays(1), 5);
+        } else {
+            eventsTable.setItems(eventsList);
+            return;
+        }
+
+        Set<Long> eventIds = new HashSet<>();
+        for (EventCalendarIndex.Entry entry : entries) {
+            eventIds.add(entry.eventId());
+        }
+        // eventsList is already in date order
+        eventsTable.setItems(eventsList.filtered(event -> eventIds.contains(event.eventId())));
+    }
+
+    private boolean confirmClash(List<EventSummary> events, Collection<EventCalendarIndex.Entry> clashes) {
+        StringBuilder names = new StringBuilder();
+        for (EventCalendarIndex.Entry clash : clashes) {
+            names.append("\n• ").append(clash.eventName());
+        }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Event Clash");
+        if (events.size() == 1) {
+            EventSummary event = events.get(0);
+            alert.setHeaderText("You are already registered for events on " + event.eventDate());
+            alert.setContentText("Same-day registrations:" + names + "\n\nRegister for " + event.eventName()
+                    + " anyway?");
+        } else {
+            alert.setHeaderText("Some of the selected events are on the same day as other events");
+            alert.setContentText("Same-day events:" + names + "\n\nRegister for all " + events.size()
+                    + " events anyway?");
+        }
+        alert.getButtonTypes().setAll(ButtonType.YES, ButtonType.NO);
+        return alert.showAndWait().filter(response -> response == ButtonType.YES).isPresent();
     }
 
     private void showError(String message) {
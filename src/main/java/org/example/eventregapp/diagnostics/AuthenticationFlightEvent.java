@@ -0,0 +1,34 @@
+package org.example.eventregapp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one login attempt. The email is not recorded, recordings may leave the machine.
+ */
+@Name("org.example.eventregapp.Authentication")
+@Label("Authentication")
+@Category({"EventRegApp", "Login"})
+@Description("Login attempt with email and password")
+@StackTrace(false)
+public class AuthenticationFlightEvent extends jdk.jfr.Event {
+
+    @Label("Participant ID")
+    @Description("Zero unless the login succeeded")
+    long participantId;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void finish(Long participantId, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.participantId = participantId != null ? participantId : 0;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.eventregapp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a controller loading the data of a table or list, on the FX thread
+ */
+@Name("org.example.eventregapp.DataLoad")
+@Label("Data Load")
+@Category({"EventRegApp", "UI"})
+@Description("A view loading its data, e.g. the events table")
+@StackTrace(false)
+public class DataLoadFlightEvent extends jdk.jfr.Event {
+
+    @Label("View")
+    String view;
+
+    @Label("Data")
+    String data;
+
+    @Label("Event ID")
+    @Description("Event the data belongs to, zero for data not tied to one event")
+    long eventId;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Outcome")
+    String outcome;
+
+    public DataLoadFlightEvent(String view, String data, Long eventId) {
+        this.view = view;
+        this.data = data;
+        this.eventId = eventId != null ? eventId : 0;
+    }
+
+    public void finish(int rows, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
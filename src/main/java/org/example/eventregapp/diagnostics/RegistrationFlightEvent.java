@@ -0,0 +1,45 @@
+package org.example.eventregapp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one registration request (single event or cart), from the rate limit check to the result
+ */
+@Name("org.example.eventregapp.Registration")
+@Label("Registration")
+@Category({"EventRegApp", "Registration"})
+@Description("Registration of a participant for one or more events")
+@StackTrace(false)
+public class RegistrationFlightEvent extends jdk.jfr.Event {
+
+    @Label("Event ID")
+    @Description("Event registered for; the lowest ID of a cart")
+    long eventId;
+
+    @Label("Event Count")
+    int eventCount;
+
+    @Label("Participant ID")
+    long participantId;
+
+    @Label("Outcome")
+    String outcome;
+
+    public RegistrationFlightEvent(Long participantId, Long eventId, int eventCount) {
+        this.participantId = participantId != null ? participantId : 0;
+        this.eventId = eventId != null ? eventId : 0;
+        this.eventCount = eventCount;
+    }
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.eventregapp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for opening the session and transaction of a unit of work, which is where a unit of work
+ * waits for a pooled connection. Only waits of a millisecond or more are recorded by default.
+ */
+@Name("org.example.eventregapp.SessionAcquisition")
+@Label("Session Acquisition")
+@Category({"EventRegApp", "Database"})
+@Description("Opening a session and beginning its transaction, including the wait for a connection")
+@StackTrace(false)
+@Threshold("1 ms")
+public class SessionAcquisitionFlightEvent extends jdk.jfr.Event {
+
+    @Label("Read Only")
+    @Description("Read-only work, which may be served by the replica")
+    boolean readOnly;
+
+    @Label("Outcome")
+    String outcome;
+
+    public SessionAcquisitionFlightEvent(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.eventregapp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one unregistration, or an admin removing a registration
+ */
+@Name("org.example.eventregapp.Unregistration")
+@Label("Unregistration")
+@Category({"EventRegApp", "Registration"})
+@Description("Removal of a registration by the participant or an admin")
+@StackTrace(false)
+public class UnregistrationFlightEvent extends jdk.jfr.Event {
+
+    @Label("Event ID")
+    @Description("Zero for an admin removal by registration ID")
+    long eventId;
+
+    @Label("Participant ID")
+    long participantId;
+
+    @Label("Registration ID")
+    @Description("Zero for an unregistration by the participant")
+    long registrationId;
+
+    @Label("Outcome")
+    String outcome;
+
+    public UnregistrationFlightEvent(Long participantId, Long eventId, Long registrationId) {
+        this.participantId = participantId != null ? participantId : 0;
+        this.eventId = eventId != null ? eventId : 0;
+        this.registrationId = registrationId != null ? registrationId : 0;
+    }
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
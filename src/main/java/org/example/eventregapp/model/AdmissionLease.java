@@ -0,0 +1,68 @@
+package org.example.eventregapp.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Waiting-room slots held by one app node.
+ * The slots are counted in ADMISSION_POOL; the node admits its own waiting attempts into them and
+ * keeps the lease alive with a heartbeat, so the slots of a node that dies are reclaimed after it expires.
+ */
+@Entity
+@Table(name = "ADMISSION_LEASES")
+public class AdmissionLease {
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "slots", nullable = false)
+    private Integer slots;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public AdmissionLease() {
+    }
+
+    // Constructor with parameters
+    public AdmissionLease(String nodeId, Integer slots, LocalDateTime expiresAt) {
+        this.nodeId = nodeId;
+        this.slots = slots;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Integer getSlots() {
+        return slots;
+    }
+
+    public void setSlots(Integer slots) {
+        this.slots = slots;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionLease{" +
+                "nodeId='" + nodeId + '\'' +
+                ", slots=" + slots +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.eventregapp.model;
+
+import javax.persistence.*;
+
+/**
+ * Shared count of waiting-room slots leased by all app nodes.
+ * Nodes lease slots in blocks with one conditional update of this row, so it is written per block
+ * and not per registration attempt.
+ */
+@Entity
+@Table(name = "ADMISSION_POOL")
+public class AdmissionPool {
+    @Id
+    @Column(name = "pool_name", length = 50)
+    private String poolName;
+
+    @Column(name = "slots_leased", nullable = false)
+    private Integer slotsLeased = 0;
+
+    // Default constructor
+    public AdmissionPool() {
+    }
+
+    // Constructor with parameters
+    public AdmissionPool(String poolName, Integer slotsLeased) {
+        this.poolName = poolName;
+        this.slotsLeased = slotsLeased;
+    }
+
+    // Getters and Setters
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public void setPoolName(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public Integer getSlotsLeased() {
+        return slotsLeased;
+    }
+
+    public void setSlotsLeased(Integer slotsLeased) {
+        this.slotsLeased = slotsLeased;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.eventregapp.model;
+
+/**
+ * One entry of the audit trail: who did what to which participant and/or event.
+ * Written to the audit log files, not to the database.
+ */
+public record AuditEvent(long timestamp, Long actorId, Action action, Long participantId, Long eventId,
+        String details) {
+
+    public enum Action {
+        REGISTERED,
+        REGISTERED_OFFLINE,
+        UNREGISTERED,
+        REGISTRATION_REMOVED,
+        EVENT_CREATED,
+        EVENT_UPDATED,
+        EVENT_DELETED,
+        EVENT_HOT_CHANGED,
+        USER_CREATED,
+        USER_SIGNED_UP,
+        USER_DELETED
+    }
+}
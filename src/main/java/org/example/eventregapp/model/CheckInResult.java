@@ -0,0 +1,24 @@
+package org.example.eventregapp.model;
+
+/**
+ * Outcome of scanning one ticket at a check-in station.
+ */
+public record CheckInResult(Status status, String participantName) {
+
+    public enum Status {
+        CHECKED_IN,
+        ALREADY_CHECKED_IN,
+        INVALID,
+        STATION_NOT_OPEN
+    }
+
+    // Helper method to get the text shown to the volunteer at the door
+    public String message() {
+        return switch (status) {
+            case CHECKED_IN -> "✓ Welcome, " + participantName + "!";
+            case ALREADY_CHECKED_IN -> "⚠ " + participantName + " has already checked in";
+            case INVALID -> "✗ Ticket is not valid for this event";
+            case STATION_NOT_OPEN -> "Check-in is not open for this event";
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.eventregapp.model;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Registrations and unregistrations of one event on one day, maintained from the reporting change log.
+ */
+@Entity
+@Table(name = "DAILY_EVENT_REGISTRATIONS", uniqueConstraints = @UniqueConstraint(name = "uk_daily_event_date",
+        columnNames = { "event_id", "stat_date" }))
+public class DailyEventRegistrations {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_event_registrations_seq")
+    @SequenceGenerator(name = "daily_event_registrations_seq", sequenceName = "daily_event_registrations_seq", allocationSize = 1)
+    @Column(name = "stat_id")
+    private Long statId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "registrations", nullable = false)
+    private Integer registrations = 0;
+
+    @Column(name = "unregistrations", nullable = false)
+    private Integer unregistrations = 0;
+
+    // Default constructor
+    public DailyEventRegistrations() {
+    }
+
+    // Constructor with parameters
+    public DailyEventRegistrations(Event event, LocalDate statDate, Integer registrations, Integer unregistrations) {
+        this.event = event;
+        this.statDate = statDate;
+        this.registrations = registrations;
+        this.unregistrations = unregistrations;
+    }
+
+    // Getters and Setters
+    public Long getStatId() {
+        return statId;
+    }
+
+    public void setStatId(Long statId) {
+        this.statId = statId;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public Integer getRegistrations() {
+        return registrations;
+    }
+
+    public void setRegistrations(Integer registrations) {
+        this.registrations = registrations;
+    }
+
+    public Integer getUnregistrations() {
+        return unregistrations;
+    }
+
+    public void setUnregistrations(Integer unregistrations) {
+        this.unregistrations = unregistrations;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.eventregapp.model;
+
+import java.time.LocalDate;
+
+/**
+ * Report row: registrations and unregistrations of one event on one day.
+ */
+public record DailyRegistrationReport(Long eventId, String eventName, LocalDate date, Integer registrations,
+        Integer unregistrations) {
+
+    public static final String SELECT = "SELECT new org.example.eventregapp.model.DailyRegistrationReport("
+            + "e.eventId, e.eventName, d.statDate, d.registrations, d.unregistrations) ";
+
+    // Helper method to get the net change in registrations for the day
+    public int netRegistrations() {
+        return registrations - unregistrations;
+    }
+}
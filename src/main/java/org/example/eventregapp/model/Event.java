@@ -26,6 +26,10 @@ public class Event {
     @Column(name = "registration_count")
     private Integer registrationCount = 0;
 
+    // Hot events keep their registration count in EVENT_COUNTER_STRIPES
+    @Column(name = "hot")
+    private Boolean hot = false;
+
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Registration> registrations = new HashSet<>();
 
@@ -89,6 +93,14 @@ public class Event {
         this.registrationCount = registrationCount;
     }
 
+    public boolean isHot() {
+        return Boolean.TRUE.equals(hot);
+    }
+
+    public void setHot(boolean hot) {
+        this.hot = hot;
+    }
+
     // Helper method to get available seats
     public int getAvailableSeats() {
         return totalSeats - registrationCount;
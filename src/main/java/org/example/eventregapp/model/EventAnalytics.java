@@ -0,0 +1,17 @@
+package org.example.eventregapp.model;
+
+import java.time.Duration;
+
+/**
+ * Live registration statistics of one event for the admin analytics tab.
+ * {@code timeToSellOut} is the actual time from first registration to sell-out for a full
+ * event, the estimate at the current rate otherwise, and null when there is no rate yet.
+ */
+public record EventAnalytics(Long eventId, String eventName, int totalSeats, int registered,
+        double perMinute, long lastHour, Duration timeToSellOut, boolean soldOut) {
+
+    // Helper method to get the share of seats taken, between 0 and 1
+    public double fillRate() {
+        return totalSeats > 0 ? Math.min(1.0, (double) registered / totalSeats) : 0.0;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.eventregapp.model;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+
+/**
+ * One cell of a striped registration counter for a hot event.
+ * The registration count of a hot event is the EVENTS row count plus the sum of its stripes.
+ */
+@Entity
+@Table(name = "EVENT_COUNTER_STRIPES", uniqueConstraints = @UniqueConstraint(name = "uk_event_stripe", columnNames = {
+        "event_id", "stripe_index" }))
+public class EventCounterStripe {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_counter_stripes_seq")
+    @SequenceGenerator(name = "event_counter_stripes_seq", sequenceName = "event_counter_stripes_seq", allocationSize = 1)
+    @Column(name = "stripe_id")
+    private Long stripeId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @Column(name = "stripe_index", nullable = false)
+    private Integer stripeIndex;
+
+    @Column(name = "registration_count", nullable = false)
+    private Integer registrationCount = 0;
+
+    // Number of seats this stripe may hand out before it has to be rebalanced
+    @Column(name = "seat_quota", nullable = false)
+    private Integer seatQuota = 0;
+
+    // Default constructor
+    public EventCounterStripe() {
+    }
+
+    // Constructor with parameters
+    public EventCounterStripe(Event event, Integer stripeIndex, Integer seatQuota) {
+        this.event = event;
+        this.stripeIndex = stripeIndex;
+        this.seatQuota = seatQuota;
+    }
+
+    // Getters and Setters
+    public Long getStripeId() {
+        return stripeId;
+    }
+
+    public void setStripeId(Long stripeId) {
+        this.stripeId = stripeId;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+
+    public Integer getStripeIndex() {
+        return stripeIndex;
+    }
+
+    public void setStripeIndex(Integer stripeIndex) {
+        this.stripeIndex = stripeIndex;
+    }
+
+    public Integer getRegistrationCount() {
+        return registrationCount;
+    }
+
+    public void setRegistrationCount(Integer registrationCount) {
+        this.registrationCount = registrationCount;
+    }
+
+    public Integer getSeatQuota() {
+        return seatQuota;
+    }
+
+    public void setSeatQuota(Integer seatQuota) {
+        this.seatQuota = seatQuota;
+    }
+
+    // Helper method to get the seats this stripe can still hand out
+    public int getRemainingQuota() {
+        return seatQuota - registrationCount;
+    }
+
+    @Override
+    public String toString() {
+        return "EventCounterStripe{" +
+                "stripeIndex=" + stripeIndex +
+                ", registrationCount=" + registrationCount +
+                ", seatQuota=" + seatQuota +
+                '}';
+    }
+}
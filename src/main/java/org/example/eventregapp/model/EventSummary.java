@@ -0,0 +1,50 @@
+package org.example.eventregapp.model;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of an event row for table views.
+ * Loaded with a constructor expression, so it carries no lazy collections or proxies.
+ */
+public record EventSummary(Long eventId, String eventName, LocalDate eventDate, Integer totalSeats,
+        Integer registrationCount, Boolean hot) {
+
+    public static final String SELECT = "SELECT new org.example.eventregapp.model.EventSummary("
+            + "e.eventId, e.eventName, e.eventDate, e.totalSeats, e.registrationCount, e.hot) ";
+
+    // Helper method to get available seats
+    public int availableSeats() {
+        return totalSeats - currentRegistrationCount();
+    }
+
+    // Helper method to get the registration count, treating a missing value as zero
+    public int currentRegistrationCount() {
+        return registrationCount != null ? registrationCount : 0;
+    }
+
+    // Helper method to check if event is full
+    public boolean isFull() {
+        return currentRegistrationCount() >= totalSeats;
+    }
+
+    public boolean isHot() {
+        return Boolean.TRUE.equals(hot);
+    }
+
+    // Copy with the striped counters of a hot event added to the registration count
+    public EventSummary withStripedCount(int stripedCount) {
+        return new EventSummary(eventId, eventName, eventDate, totalSeats, currentRegistrationCount() + stripedCount,
+                hot);
+    }
+
+    // Copy without the seats that nodes have leased but not handed out, which the EVENTS row counts as taken
+    public EventSummary withoutUnusedLeasedSeats(int unusedLeasedSeats) {
+        return new EventSummary(eventId, eventName, eventDate, totalSeats,
+                Math.max(0, currentRegistrationCount() - unusedLeasedSeats), hot);
+    }
+
+    @Override
+    public String toString() {
+        return eventName + " (" + eventDate + ")";
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.eventregapp.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Stored outcome of a registration or unregistration request, keyed by the client's idempotency key.
+ * A replayed request with the same key gets this result back instead of running again.
+ */
+@Entity
+@Table(name = "IDEMPOTENCY_KEYS")
+public class IdempotencyKey {
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String key;
+
+    @Column(name = "operation", nullable = false, length = 20)
+    private String operation;
+
+    @Column(name = "participant_id", nullable = false)
+    private Long participantId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "result", nullable = false)
+    private String result;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public IdempotencyKey() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Constructor with parameters
+    public IdempotencyKey(String key, String operation, Long participantId, Long eventId, String result) {
+        this.key = key;
+        this.operation = operation;
+        this.participantId = participantId;
+        this.eventId = eventId;
+        this.result = result;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getParticipantId() {
+        return participantId;
+    }
+
+    public void setParticipantId(Long participantId) {
+        this.participantId = participantId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyKey{" +
+                "key='" + key + '\'' +
+                ", operation='" + operation + '\'' +
+                ", result='" + result + '\'' +
+                '}';
+    }
+}
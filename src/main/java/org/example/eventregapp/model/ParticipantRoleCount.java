@@ -0,0 +1,44 @@
+package org.example.eventregapp.model;
+
+import javax.persistence.*;
+
+/**
+ * Number of participants with one role, maintained from the reporting change log.
+ */
+@Entity
+@Table(name = "PARTICIPANT_ROLE_COUNTS")
+public class ParticipantRoleCount {
+    @Id
+    @Column(name = "role", length = 50)
+    private String role;
+
+    @Column(name = "participant_count", nullable = false)
+    private Long participantCount = 0L;
+
+    // Default constructor
+    public ParticipantRoleCount() {
+    }
+
+    // Constructor with parameters
+    public ParticipantRoleCount(String role, Long participantCount) {
+        this.role = role;
+        this.participantCount = participantCount;
+    }
+
+    // Getters and Setters
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public Long getParticipantCount() {
+        return participantCount;
+    }
+
+    public void setParticipantCount(Long participantCount) {
+        this.participantCount = participantCount;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.eventregapp.model;
+
+/**
+ * Read-only projection of a participant row for table views (the password is never selected).
+ */
+public record ParticipantSummary(Long participantId, String fullName, String email, String role) {
+
+    public static final String SELECT = "SELECT new org.example.eventregapp.model.ParticipantSummary("
+            + "p.participantId, p.fullName, p.email, p.role) ";
+
+    @Override
+    public String toString() {
+        return fullName + " <" + email + ">";
+    }
+}
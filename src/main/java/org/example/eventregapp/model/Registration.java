@@ -1,5 +1,8 @@
 package org.example.eventregapp.model;
 
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
@@ -14,15 +17,25 @@ public class Registration {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Event event;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "participant_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Participant participant;
 
     @Column(name = "registration_date")
     private LocalDateTime registrationDate;
 
+    // Seat lease the seat was taken from, null when it was counted on the EVENTS row directly
+    @Column(name = "lease_id")
+    private Long leaseId;
+
+    // Set when the ticket is scanned at the door (synced in batches from the check-in stations)
+    @Column(name = "checked_in_at")
+    private LocalDateTime checkedInAt;
+
     // Default constructor
     public Registration() {
         this.registrationDate = LocalDateTime.now();
@@ -68,6 +81,22 @@ public class Registration {
         this.registrationDate = registrationDate;
     }
 
+    public Long getLeaseId() {
+        return leaseId;
+    }
+
+    public void setLeaseId(Long leaseId) {
+        this.leaseId = leaseId;
+    }
+
+    public LocalDateTime getCheckedInAt() {
+        return checkedInAt;
+    }
+
+    public void setCheckedInAt(LocalDateTime checkedInAt) {
+        this.checkedInAt = checkedInAt;
+    }
+
     @Override
     public String toString() {
         return "Registration{" +
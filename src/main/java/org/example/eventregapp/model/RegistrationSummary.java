@@ -0,0 +1,13 @@
+package org.example.eventregapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a registration joined with its participant and event names.
+ */
+public record RegistrationSummary(Long registrationId, Long participantId, String participantName,
+        Long eventId, String eventName, LocalDateTime registrationDate) {
+
+    public static final String SELECT = "SELECT new org.example.eventregapp.model.RegistrationSummary("
+            + "r.registrationId, p.participantId, p.fullName, e.eventId, e.eventName, r.registrationDate) ";
+}
@@ -0,0 +1,89 @@
+package org.example.eventregapp.model;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * One entry of the reporting change log, written in the same transaction as the change it describes.
+ * A registration change has an event, a participant change has a role; the delta is +1 or -1.
+ * Entries are folded into the daily aggregate tables in micro-batches and then deleted.
+ */
+@Entity
+@Table(name = "REPORTING_CHANGES")
+public class ReportingChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reporting_changes_seq")
+    @SequenceGenerator(name = "reporting_changes_seq", sequenceName = "reporting_changes_seq", allocationSize = 1)
+    @Column(name = "change_id")
+    private Long changeId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @Column(name = "role", length = 50)
+    private String role;
+
+    @Column(name = "change_date", nullable = false)
+    private LocalDate changeDate;
+
+    @Column(name = "delta", nullable = false)
+    private Integer delta;
+
+    // Default constructor
+    public ReportingChange() {
+    }
+
+    // Constructor with parameters
+    public ReportingChange(Event event, String role, LocalDate changeDate, Integer delta) {
+        this.event = event;
+        this.role = role;
+        this.changeDate = changeDate;
+        this.delta = delta;
+    }
+
+    // Getters and Setters
+    public Long getChangeId() {
+        return changeId;
+    }
+
+    public void setChangeId(Long changeId) {
+        this.changeId = changeId;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public LocalDate getChangeDate() {
+        return changeDate;
+    }
+
+    public void setChangeDate(LocalDate changeDate) {
+        this.changeDate = changeDate;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+}
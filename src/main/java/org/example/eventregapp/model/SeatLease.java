@@ -0,0 +1,116 @@
+package org.example.eventregapp.model;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A block of seats of one event leased by one app node.
+ * The leased seats are already counted in EVENTS.registration_count; the node hands them
+ * out locally and returns the unused ones when the lease is released or expires.
+ */
+@Entity
+@Table(name = "SEAT_LEASES")
+public class SeatLease {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_leases_seq")
+    @SequenceGenerator(name = "seat_leases_seq", sequenceName = "seat_leases_seq", allocationSize = 1)
+    @Column(name = "lease_id")
+    private Long leaseId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @Column(name = "node_id", nullable = false, length = 100)
+    private String nodeId;
+
+    @Column(name = "seats_leased", nullable = false)
+    private Integer seatsLeased;
+
+    @Column(name = "seats_used", nullable = false)
+    private Integer seatsUsed = 0;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public SeatLease() {
+    }
+
+    // Constructor with parameters
+    public SeatLease(Event event, String nodeId, Integer seatsLeased, LocalDateTime expiresAt) {
+        this.event = event;
+        this.nodeId = nodeId;
+        this.seatsLeased = seatsLeased;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getLeaseId() {
+        return leaseId;
+    }
+
+    public void setLeaseId(Long leaseId) {
+        this.leaseId = leaseId;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Integer getSeatsLeased() {
+        return seatsLeased;
+    }
+
+    public void setSeatsLeased(Integer seatsLeased) {
+        this.seatsLeased = seatsLeased;
+    }
+
+    public Integer getSeatsUsed() {
+        return seatsUsed;
+    }
+
+    public void setSeatsUsed(Integer seatsUsed) {
+        this.seatsUsed = seatsUsed;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    // Helper method to get the leased seats not handed out yet
+    public int getUnusedSeats() {
+        return seatsLeased - seatsUsed;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatLease{" +
+                "leaseId=" + leaseId +
+                ", nodeId='" + nodeId + '\'' +
+                ", seatsLeased=" + seatsLeased +
+                ", seatsUsed=" + seatsUsed +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,378 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.AdmissionLease;
+import org.example.eventregapp.model.AdmissionPool;
+import org.example.eventregapp.util.CircuitBreaker;
+import org.example.eventregapp.util.DatabaseResilience;
+import org.example.eventregapp.util.DatabaseUtil;
+import org.example.eventregapp.util.UnitOfWork;
+import org.hibernate.LockMode;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Waiting room for registration attempts.
+ * The registrations running against the database are bounded across all app nodes by a shared pool
+ * of slots (ADMISSION_POOL): each node leases slots in blocks with one conditional update and admits
+ * its own attempts into them from a local first-in, first-out line. Waiting costs no database work, and
+ * the pool is only written when a node leases or returns a block, so a surge does not add write load
+ * to the database the waiting room protects.
+ * <p>
+ * Each node adapts how many slots it wants AIMD-style: it grows slowly while registrations are fast and
+ * shrinks quickly when latency exceeds the target, the connection pool is nearly saturated or the
+ * database circuit breaker is not closed. Slots it no longer needs go back to the pool for the other nodes.
+ */
+public class AdmissionService {
+
+    private static final int MIN_LIMIT = 1;
+    private static final int MAX_LIMIT = Integer.getInteger("eventreg.admission.maxConcurrent", 16);
+    private static final long TARGET_LATENCY_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("eventreg.admission.targetLatencyMillis", 250));
+    private static final double POOL_SATURATION = 0.9;
+    private static final double DECREASE_FACTOR = 0.7;
+    private static final long DECREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    // Slots shared by all nodes; set the same value on every node
+    private static final int GLOBAL_SLOTS = Integer.getInteger("eventreg.admission.globalSlots", 64);
+    private static final int BLOCK_SIZE = Integer.getInteger("eventreg.admission.blockSize", 4);
+    private static final String POOL_NAME = "REGISTRATION";
+
+    // The heartbeat renews the lease, returns unneeded slots and reclaims the slots of nodes that died
+    private static final long HEARTBEAT_SECONDS = 5;
+    private static final long LEASE_SECONDS = 30;
+
+    // Expired leases are reclaimed only after this grace period, to allow for clock skew between nodes
+    private static final long RECLAIM_GRACE_SECONDS = 30;
+
+    // After the pool had no slots to spare, ask again this much later
+    private static final long GRANT_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Waiters re-check their place at least this often, in case a wake-up was missed
+    private static final long WAIT_MILLIS = 250;
+
+    private static final Object lock = new Object();
+    private static final ArrayDeque<Object> line = new ArrayDeque<>();
+    private static int heldSlots;
+    private static int slotsInUse;
+    private static boolean granting;
+    private static long nextGrantAt = System.nanoTime();
+    private static double limit = Math.max(MIN_LIMIT, MAX_LIMIT / 2);
+    private static double averageLatencyNanos;
+    private static long lastDecrease;
+
+    private static ScheduledExecutorService heartbeat;
+
+    /**
+     * Run work once admitted, waiting in line until then
+     *
+     * @param positionListener told the 1-based position in this node's line whenever it changes while waiting
+     */
+    public static <T> T runAdmitted(Supplier<T> work, IntConsumer positionListener) throws InterruptedException {
+        boolean slotTaken = enter(positionListener);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = work.get();
+            failed = false;
+            return result;
+        } finally {
+            leave(slotTaken, System.nanoTime() - start, failed);
+        }
+    }
+
+    public static int getLimit() {
+        synchronized (lock) {
+            return (int) limit;
+        }
+    }
+
+    /**
+     * Return this node's slots to the pool and stop the heartbeat (called at shutdown)
+     */
+    public static void releaseAll() {
+        synchronized (AdmissionService.class) {
+            if (heartbeat != null) {
+                heartbeat.shutdownNow();
+                heartbeat = null;
+            }
+        }
+        synchronized (lock) {
+            if (heldSlots == 0) {
+                return;
+            }
+            heldSlots = 0;
+        }
+        try {
+            UnitOfWork.inTransaction(session -> {
+                AdmissionLease lease = session.get(AdmissionLease.class, SeatLeaseService.getNodeId(),
+                        LockMode.PESSIMISTIC_WRITE);
+                if (lease != null) {
+                    addToPool(session, -lease.getSlots());
+                    session.delete(lease);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // The lease expires and is reclaimed by another node
+            System.err.println("Error releasing admission slots: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Wait in line until a slot is free, leasing more slots from the pool when this node may use more
+     *
+     * @return true if a slot was taken, false if the attempt went ahead without one
+     */
+    private static boolean enter(IntConsumer positionListener) throws InterruptedException {
+        ensureHeartbeat();
+        Object place = new Object();
+        int lastPosition = -1;
+        synchronized (lock) {
+            line.addLast(place);
+        }
+        try {
+            while (true) {
+                int position;
+                int block = 0;
+                synchronized (lock) {
+                    if (line.peekFirst() == place && slotsInUse < Math.min(heldSlots, (int) limit)) {
+                        line.removeFirst();
+                        slotsInUse++;
+                        lock.notifyAll();
+                        return true;
+                    }
+                    position = positionOf(place);
+                    if (position == lastPosition) {
+                        // Only one waiter asks the pool at a time, and only while every held slot is busy
+                        if (!granting && slotsInUse >= heldSlots && heldSlots < (int) limit
+                                && System.nanoTime() - nextGrantAt >= 0) {
+                            granting = true;
+                            block = Math.min(BLOCK_SIZE, (int) limit - heldSlots);
+                        } else {
+                            lock.wait(WAIT_MILLIS);
+                            continue;
+                        }
+                    }
+                }
+
+                if (block == 0) {
+                    positionListener.accept(position);
+                    lastPosition = position;
+                    continue;
+                }
+
+                int wanted = block;
+                int granted;
+                try {
+                    granted = UnitOfWork.inTransaction(session -> leaseSlots(session, wanted));
+                } catch (Exception e) {
+                    // No shared slots without the database; the registration then reports the error or goes offline
+                    System.err.println("Admission pool not reachable, admitting directly: " + e.getMessage());
+                    synchronized (lock) {
+                        granting = false;
+                        line.remove(place);
+                        lock.notifyAll();
+                    }
+                    return false;
+                }
+                synchronized (lock) {
+                    granting = false;
+                    heldSlots += granted;
+                    if (granted == 0) {
+                        nextGrantAt = System.nanoTime() + GRANT_RETRY_NANOS;
+                    }
+                    lock.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            synchronized (lock) {
+                line.remove(place);
+                lock.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private static void leave(boolean slotTaken, long latencyNanos, boolean failed) {
+        synchronized (lock) {
+            if (slotTaken) {
+                slotsInUse--;
+            }
+            averageLatencyNanos = averageLatencyNanos == 0
+                    ? latencyNanos
+                    : averageLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - averageLatencyNanos);
+
+            long now = System.nanoTime();
+            if (failed || isOverloaded()) {
+                // Multiplicative decrease, at most once per interval so one slow burst does not collapse the limit
+                if (now - lastDecrease >= DECREASE_INTERVAL_NANOS) {
+                    limit = Math.max(MIN_LIMIT, limit * DECREASE_FACTOR);
+                    lastDecrease = now;
+                }
+            } else {
+                // Additive increase: about one more slot per limit's worth of fast registrations
+                limit = Math.min(MAX_LIMIT, limit + 1.0 / limit);
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Lease up to {@code block} slots from the pool, fewer if that is all the pool has left
+     *
+     * @return number of slots leased
+     */
+    private static int leaseSlots(Session session, int block) {
+        if (session.get(AdmissionPool.class, POOL_NAME) == null) {
+            session.save(new AdmissionPool(POOL_NAME, 0));
+            session.flush();
+        }
+        int slots = block;
+        while (slots > 0) {
+            // One conditional update reserves the whole block on the pool row
+            int updated = session.createQuery(
+                    "UPDATE AdmissionPool p SET p.slotsLeased = p.slotsLeased + :slots " +
+                            "WHERE p.poolName = :pool AND p.slotsLeased + :slots <= :max")
+                    .setParameter("slots", slots)
+                    .setParameter("pool", POOL_NAME)
+                    .setParameter("max", GLOBAL_SLOTS)
+                    .executeUpdate();
+            if (updated == 1) {
+                LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(LEASE_SECONDS);
+                AdmissionLease lease = session.get(AdmissionLease.class, SeatLeaseService.getNodeId(),
+                        LockMode.PESSIMISTIC_WRITE);
+                if (lease == null) {
+                    session.save(new AdmissionLease(SeatLeaseService.getNodeId(), slots, expiresAt));
+                } else {
+                    lease.setSlots(lease.getSlots() + slots);
+                    lease.setExpiresAt(expiresAt);
+                }
+                return slots;
+            }
+
+            // Fewer slots left than a full block: lease what remains
+            Integer leased = session.createQuery(
+                    "SELECT p.slotsLeased FROM AdmissionPool p WHERE p.poolName = :pool", Integer.class)
+                    .setParameter("pool", POOL_NAME)
+                    .uniqueResult();
+            int remaining = GLOBAL_SLOTS - (leased != null ? leased : GLOBAL_SLOTS);
+            if (remaining <= 0) {
+                return 0;
+            }
+            slots = Math.min(slots - 1, remaining);
+        }
+        return 0;
+    }
+
+    // Renew this node's lease, return the slots it does not need and reclaim the slots of nodes that died
+    private static void beat() {
+        int surplus;
+        synchronized (lock) {
+            // Keep the busy slots, and up to the limit while attempts are waiting
+            int needed = line.isEmpty() ? slotsInUse : Math.max(slotsInUse, Math.min(heldSlots, (int) limit));
+            surplus = heldSlots - needed;
+            heldSlots = needed;
+        }
+        boolean leaseKept;
+        try {
+            leaseKept = UnitOfWork.inTransaction(session -> {
+                reclaimExpired(session);
+                AdmissionLease lease = session.get(AdmissionLease.class, SeatLeaseService.getNodeId(),
+                        LockMode.PESSIMISTIC_WRITE);
+                if (lease == null) {
+                    return false;
+                }
+                if (surplus > 0) {
+                    int returned = Math.min(surplus, lease.getSlots());
+                    lease.setSlots(lease.getSlots() - returned);
+                    addToPool(session, -returned);
+                }
+                if (lease.getSlots() == 0) {
+                    session.delete(lease);
+                } else {
+                    lease.setExpiresAt(LocalDateTime.now().plusSeconds(LEASE_SECONDS));
+                }
+                return true;
+            });
+        } catch (Exception e) {
+            synchronized (lock) {
+                heldSlots += surplus;
+            }
+            System.err.println("Error renewing admission slots: " + e.getMessage());
+            return;
+        }
+        if (!leaseKept) {
+            // The lease expired and another node gave its slots back to the pool; lease again when needed
+            synchronized (lock) {
+                heldSlots = 0;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private static void reclaimExpired(Session session) {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(RECLAIM_GRACE_SECONDS);
+        for (String nodeId : session.createQuery(
+                "SELECT l.nodeId FROM AdmissionLease l WHERE l.expiresAt < :cutoff", String.class)
+                .setParameter("cutoff", cutoff)
+                .list()) {
+            // Locked and checked again, so a lease renewed in the meantime is kept
+            AdmissionLease lease = session.get(AdmissionLease.class, nodeId, LockMode.PESSIMISTIC_WRITE);
+            if (lease != null && lease.getExpiresAt().isBefore(cutoff)) {
+                addToPool(session, -lease.getSlots());
+                session.delete(lease);
+            }
+        }
+    }
+
+    private static void addToPool(Session session, int slots) {
+        session.createQuery("UPDATE AdmissionPool p SET p.slotsLeased = p.slotsLeased + :slots " +
+                "WHERE p.poolName = :pool")
+                .setParameter("slots", slots)
+                .setParameter("pool", POOL_NAME)
+                .executeUpdate();
+    }
+
+    private static int positionOf(Object place) {
+        int position = 1;
+        for (Iterator<Object> it = line.iterator(); it.hasNext(); position++) {
+            if (it.next() == place) {
+                return position;
+            }
+        }
+        return position;
+    }
+
+    private static synchronized void ensureHeartbeat() {
+        if (heartbeat != null) {
+            return;
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "admission-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(() -> {
+            try {
+                beat();
+            } catch (Exception e) {
+                System.err.println("Error in admission heartbeat: " + e.getMessage());
+            }
+        }, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static boolean isOverloaded() {
+        return averageLatencyNanos > TARGET_LATENCY_NANOS
+                || UnitOfWork.getOpenSessionCount() >= DatabaseUtil.getPoolMaxSize() * POOL_SATURATION
+                || DatabaseResilience.getState() != CircuitBreaker.State.CLOSED;
+    }
+}
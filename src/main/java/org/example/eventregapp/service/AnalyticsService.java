@@ -0,0 +1,206 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.EventAnalytics;
+import org.example.eventregapp.util.SlidingWindowCounter;
+import org.example.eventregapp.util.UnitOfWork;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-event registration analytics (fill rate, registrations per minute, time to sell out).
+ * The figures are kept in memory: they are rebuilt from the database once at startup and
+ * then updated by the registration write paths, so the dashboard never scans REGISTRATIONS.
+ */
+public class AnalyticsService {
+
+    // One bucket per minute for the last hour
+    private static final int WINDOW_MINUTES = 60;
+    private static final long MINUTE_MILLIS = 60_000;
+
+    // Minutes averaged for the current registration rate
+    private static final int RATE_MINUTES = 5;
+
+    private static final Map<Long, EventStats> stats = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+
+    /**
+     * Load the running aggregates and the last hour of registrations from the database
+     */
+    public static synchronized void rebuild() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(WINDOW_MINUTES);
+        try {
+            Map<Long, EventStats> rebuilt = UnitOfWork.read(session -> {
+                Map<Long, EventStats> result = new ConcurrentHashMap<>();
+                List<Object[]> events = session.createQuery(
+                        "SELECT e.eventId, e.eventName, e.totalSeats FROM Event e", Object[].class)
+                        .list();
+                for (Object[] row : events) {
+                    result.put((Long) row[0], new EventStats((String) row[1], (Integer) row[2]));
+                }
+
+                // Running aggregates, one row per event
+                List<Object[]> totals = session.createQuery(
+                        "SELECT r.event.eventId, COUNT(r), MIN(r.registrationDate), MAX(r.registrationDate) " +
+                                "FROM Registration r GROUP BY r.event.eventId", Object[].class)
+                        .list();
+                for (Object[] row : totals) {
+                    EventStats eventStats = result.get((Long) row[0]);
+                    if (eventStats != null) {
+                        eventStats.load(((Long) row[1]).intValue(), (LocalDateTime) row[2], (LocalDateTime) row[3]);
+                    }
+                }
+
+                // Only the last hour is needed to fill the time buckets
+                List<Object[]> recent = session.createQuery(
+                        "SELECT r.event.eventId, r.registrationDate FROM Registration r " +
+                                "WHERE r.registrationDate >= :since", Object[].class)
+                        .setParameter("since", since)
+                        .list();
+                for (Object[] row : recent) {
+                    EventStats eventStats = result.get((Long) row[0]);
+                    if (eventStats != null) {
+                        eventStats.window.add(toMillis((LocalDateTime) row[1]), 1);
+                    }
+                }
+                return result;
+            });
+            stats.clear();
+            stats.putAll(rebuilt);
+            loaded = true;
+        } catch (Exception e) {
+            System.err.println("Error loading registration analytics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Count a committed registration
+     */
+    public static void recordRegistration(Long eventId) {
+        EventStats eventStats = loaded ? stats.get(eventId) : null;
+        if (eventStats != null) {
+            eventStats.registered(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Count a committed unregistration or admin removal
+     */
+    public static void recordUnregistration(Long eventId) {
+        EventStats eventStats = loaded ? stats.get(eventId) : null;
+        if (eventStats != null) {
+            eventStats.unregistered(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Add a new event or pick up a changed name or seat count
+     */
+    public static void trackEvent(Event event) {
+        if (loaded && event.getEventId() != null) {
+            stats.computeIfAbsent(event.getEventId(), id -> new EventStats(event.getEventName(), event.getTotalSeats()))
+                    .rename(event.getEventName(), event.getTotalSeats());
+        }
+    }
+
+    public static void removeEvent(Long eventId) {
+        stats.remove(eventId);
+    }
+
+    /**
+     * Current analytics of all events, busiest first
+     */
+    public static List<EventAnalytics> getAll() {
+        if (!loaded) {
+            rebuild();
+        }
+        long now = System.currentTimeMillis();
+        List<EventAnalytics> result = new ArrayList<>(stats.size());
+        for (Map.Entry<Long, EventStats> entry : stats.entrySet()) {
+            result.add(entry.getValue().snapshot(entry.getKey(), now));
+        }
+        result.sort(Comparator.comparingDouble(EventAnalytics::perMinute).reversed()
+                .thenComparing(EventAnalytics::lastHour, Comparator.reverseOrder())
+                .thenComparing(EventAnalytics::eventName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Running aggregates and the minute buckets of one event
+     */
+    private static final class EventStats {
+
+        private final SlidingWindowCounter window = new SlidingWindowCounter(WINDOW_MINUTES, MINUTE_MILLIS);
+        private String eventName;
+        private int totalSeats;
+        private int registered;
+        private long firstRegistrationMillis = -1;
+        private long soldOutMillis = -1;
+
+        EventStats(String eventName, Integer totalSeats) {
+            this.eventName = eventName;
+            this.totalSeats = totalSeats != null ? totalSeats : 0;
+        }
+
+        synchronized void load(int count, LocalDateTime first, LocalDateTime last) {
+            registered = count;
+            firstRegistrationMillis = first != null ? toMillis(first) : -1;
+            // The last registration of a full event is when it sold out
+            soldOutMillis = registered >= totalSeats && last != null ? toMillis(last) : -1;
+        }
+
+        synchronized void rename(String name, Integer seats) {
+            eventName = name;
+            totalSeats = seats != null ? seats : 0;
+            updateSoldOut(System.currentTimeMillis());
+        }
+
+        synchronized void registered(long now) {
+            registered++;
+            if (firstRegistrationMillis < 0) {
+                firstRegistrationMillis = now;
+            }
+            window.add(now, 1);
+            updateSoldOut(now);
+        }
+
+        synchronized void unregistered(long now) {
+            registered = Math.max(0, registered - 1);
+            updateSoldOut(now);
+        }
+
+        private void updateSoldOut(long now) {
+            if (registered < totalSeats) {
+                soldOutMillis = -1;
+            } else if (soldOutMillis < 0) {
+                soldOutMillis = now;
+            }
+        }
+
+        synchronized EventAnalytics snapshot(Long eventId, long now) {
+            double perMinute = window.sum(now, RATE_MINUTES) / (double) RATE_MINUTES;
+            long lastHour = window.sum(now, WINDOW_MINUTES);
+            boolean soldOut = soldOutMillis >= 0;
+
+            Duration timeToSellOut = null;
+            if (soldOut && firstRegistrationMillis >= 0) {
+                timeToSellOut = Duration.ofMillis(Math.max(0, soldOutMillis - firstRegistrationMillis));
+            } else if (!soldOut && perMinute > 0) {
+                timeToSellOut = Duration.ofSeconds((long) ((totalSeats - registered) / perMinute * 60));
+            }
+            return new EventAnalytics(eventId, eventName, totalSeats, registered, perMinute, lastHour,
+                    timeToSellOut, soldOut);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.AuditEvent;
+import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.util.AuditLog;
+import org.example.eventregapp.util.MpscRingBuffer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of admin and registration actions.
+ * {@link #record} only puts the event into a lock-free ring buffer and never blocks; a background
+ * thread drains it into rolling gzip segments under {@code ~/.eventregapp/audit}
+ * (override with {@code -Deventreg.audit.dir}). If the buffer is full the event is dropped and counted.
+ */
+public class AuditService {
+
+    public static final Path AUDIT_DIRECTORY = Paths.get(System.getProperty("eventreg.audit.dir",
+            Paths.get(System.getProperty("user.home"), ".eventregapp", "audit").toString()));
+
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 512;
+    private static final int EVENTS_PER_SEGMENT = 50_000;
+    private static final long SEGMENT_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final MpscRingBuffer<AuditEvent> buffer = new MpscRingBuffer<>(BUFFER_CAPACITY);
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+
+    private static volatile Long actorId;
+    private static volatile boolean running;
+    private static Thread writer;
+
+    /**
+     * Set the logged-in user that following events are attributed to
+     */
+    public static void setActor(Participant participant) {
+        actorId = participant != null ? participant.getParticipantId() : null;
+    }
+
+    /**
+     * Publish an audit event without blocking
+     */
+    public static void record(AuditEvent.Action action, Long participantId, Long eventId, String details) {
+        AuditEvent event = new AuditEvent(System.currentTimeMillis(), actorId, action, participantId, eventId, details);
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Start the background writer
+     */
+    public static synchronized void start() {
+        if (running) {
+            return;
+        }
+        AuditLog log;
+        try {
+            log = new AuditLog(AUDIT_DIRECTORY, EVENTS_PER_SEGMENT, SEGMENT_MILLIS);
+        } catch (IOException e) {
+            System.err.println("Audit log disabled, directory could not be created: " + e.getMessage());
+            return;
+        }
+        running = true;
+        writer = new Thread(() -> drain(log), "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Write what is still buffered and close the current segment
+     */
+    public static synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Find audit events about a participant, newest first
+     */
+    public static List<AuditEvent> findByParticipant(Long participantId, int limit) throws IOException {
+        return AuditLog.query(AUDIT_DIRECTORY, participantId, null, limit);
+    }
+
+    /**
+     * Find audit events about an event, newest first
+     */
+    public static List<AuditEvent> findByEvent(Long eventId, int limit) throws IOException {
+        return AuditLog.query(AUDIT_DIRECTORY, null, eventId, limit);
+    }
+
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public static long getWrittenCount() {
+        return written.get();
+    }
+
+    private static void drain(AuditLog log) {
+        List<AuditEvent> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (running || !buffer.isEmpty()) {
+                batch.clear();
+                if (buffer.drainTo(batch, BATCH_SIZE) == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                try {
+                    log.write(batch);
+                    written.addAndGet(batch.size());
+                } catch (IOException e) {
+                    dropped.addAndGet(batch.size());
+                    System.err.println("Error writing audit log: " + e.getMessage());
+                }
+            }
+        } finally {
+            try {
+                log.close();
+            } catch (IOException e) {
+                System.err.println("Error closing audit log: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package org.example.eventregapp.service;
 
+import org.example.eventregapp.diagnostics.AuthenticationFlightEvent;
 import org.example.eventregapp.model.Participant;
-import org.example.eventregapp.util.DatabaseUtil;
-import org.hibernate.Session;
+import org.example.eventregapp.util.RateLimitExceededException;
+import org.example.eventregapp.util.UnitOfWork;
 
 import java.util.List;
 
@@ -18,23 +19,39 @@ public class AuthenticationService {
      * @param email    User's email
      * @param password User's password
      * @return Participant object if authentication successful, null otherwise
+     * @throws RateLimitExceededException if there were too many login attempts
      */
     public static Participant authenticate(String email, String password) {
-        try (Session session = DatabaseUtil.getSession()) {
-            List<Participant> participants = session.createQuery(
-                    "FROM Participant WHERE email = :email AND password = :password",
-                    Participant.class)
-                    .setParameter("email", email)
-                    .setParameter("password", password)
-                    .list();
+        AuthenticationFlightEvent flightEvent = new AuthenticationFlightEvent();
+        flightEvent.begin();
 
-            if (participants.isEmpty()) {
-                return null;
-            }
+        // Checked before a session is opened, so scripted attempts cannot drain the pool
+        if (!RateLimitService.allowLogin(email)) {
+            flightEvent.finish(null, "rate limited");
+            throw new RateLimitExceededException("Too many login attempts. Please wait a moment and try again");
+        }
+
+        try {
+            Participant participant = UnitOfWork.read(session -> {
+                List<Participant> participants = session.createQuery(
+                        "FROM Participant WHERE email = :email AND password = :password",
+                        Participant.class)
+                        .setParameter("email", email)
+                        .setParameter("password", password)
+                        .list();
+
+                if (participants.isEmpty()) {
+                    return null;
+                }
 
-            return participants.get(0);
+                return participants.get(0);
+            });
+            flightEvent.finish(participant != null ? participant.getParticipantId() : null,
+                    participant != null ? "authenticated" : "invalid credentials");
+            return participant;
         } catch (Exception e) {
             System.err.println("Authentication error: " + e.getMessage());
+            flightEvent.finish(null, "error: " + e.getMessage());
             return null;
         }
     }
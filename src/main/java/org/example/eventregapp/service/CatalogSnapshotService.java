@@ -0,0 +1,158 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.EventSummary;
+import org.example.eventregapp.util.CatalogSnapshot;
+import org.example.eventregapp.util.UnitOfWork;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a binary snapshot of the upcoming events on disk, so the user view can show them
+ * before the database has answered.
+ * The snapshot carries a change stamp: a fingerprint of the upcoming events as the user view
+ * shows them, computed by one aggregate query over per-row content hashes. A background
+ * reconcile compares it with the database and only reloads the upcoming events when it differs.
+ */
+public class CatalogSnapshotService {
+
+    private static final Path SNAPSHOT_PATH = Paths.get(System.getProperty("eventreg.snapshot.path",
+            Paths.get(System.getProperty("user.home"), ".eventregapp", "catalog.snapshot").toString()));
+    private static final long WRITE_INTERVAL_MINUTES = 5;
+
+    private static volatile CatalogSnapshot current;
+    private static ScheduledExecutorService writer;
+
+    /**
+     * Get the catalog from the snapshot file (memory-mapped on first use)
+     *
+     * @return the snapshot, or null if there is no valid one
+     */
+    public static CatalogSnapshot getSnapshot() {
+        CatalogSnapshot snapshot = current;
+        if (snapshot == null) {
+            try {
+                snapshot = CatalogSnapshot.read(SNAPSHOT_PATH);
+                current = snapshot;
+            } catch (IOException e) {
+                System.err.println("Error reading catalog snapshot: " + e.getMessage());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get the upcoming events with free seats from the snapshot, like {@link ReadModelService#getUpcomingEvents()}
+     */
+    public static List<EventSummary> getSnapshotUpcomingEvents() {
+        CatalogSnapshot snapshot = getSnapshot();
+        List<EventSummary> events = new ArrayList<>();
+        if (snapshot != null) {
+            LocalDate today = LocalDate.now();
+            for (EventSummary event : snapshot.events()) {
+                if (event.eventDate().isAfter(today) && !event.isFull()) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Compare the snapshot with the database and reload it if the catalog changed
+     *
+     * @return true if the snapshot was replaced
+     */
+    public static boolean reconcile() {
+        long stamp = getChangeStamp();
+        CatalogSnapshot snapshot = getSnapshot();
+        if (snapshot != null && snapshot.changeStamp() == stamp) {
+            return false;
+        }
+        refresh(stamp);
+        return true;
+    }
+
+    /**
+     * Write the snapshot every few minutes in the background
+     */
+    public static synchronized void startPeriodicWrites() {
+        if (writer != null) {
+            return;
+        }
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (Exception e) {
+                System.err.println("Error refreshing catalog snapshot: " + e.getMessage());
+            }
+        }, WRITE_INTERVAL_MINUTES, WRITE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stop periodic writes and bring the snapshot up to date one last time (called at shutdown)
+     */
+    public static synchronized void stop() {
+        if (writer != null) {
+            writer.shutdownNow();
+            writer = null;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            // Keep the last good snapshot if the database is not reachable
+            System.err.println("Catalog snapshot not updated at shutdown: " + e.getMessage());
+        }
+    }
+
+    private static void refresh(long stamp) {
+        List<EventSummary> events = ReadModelService.getUpcomingEvents();
+        CatalogSnapshot snapshot = new CatalogSnapshot(stamp, System.currentTimeMillis(), events);
+        try {
+            snapshot.write(SNAPSHOT_PATH);
+        } catch (IOException e) {
+            System.err.println("Error writing catalog snapshot: " + e.getMessage());
+        }
+        current = snapshot;
+    }
+
+    // Fingerprint of the upcoming events: a sum of per-row content hashes over the columns that make up
+    // what the user view shows, including the seats on stripes and in unused leases, so any change to a
+    // shown value changes it (a version row bumped by triggers would serialize every registration on it).
+    // Past events and participants are not read.
+    private static long getChangeStamp() {
+        return UnitOfWork.read(session -> {
+            Object[] sums = (Object[]) session.createNativeQuery(
+                    "SELECT (SELECT COUNT(*) FROM EVENTS WHERE event_date > :today), " +
+                            "(SELECT NVL(SUM(ORA_HASH(event_id || '|' || event_name || '|' || " +
+                            "TO_CHAR(event_date, 'YYYY-MM-DD') || '|' || total_seats || '|' || " +
+                            "registration_count || '|' || hot)), 0) FROM EVENTS WHERE event_date > :today), " +
+                            "(SELECT NVL(SUM(ORA_HASH(s.event_id || '|' || s.stripe_index || '|' || " +
+                            "s.registration_count)), 0) FROM EVENT_COUNTER_STRIPES s " +
+                            "JOIN EVENTS e ON e.event_id = s.event_id WHERE e.event_date > :today), " +
+                            "(SELECT NVL(SUM(ORA_HASH(l.lease_id || '|' || (l.seats_leased - l.seats_used))), 0) " +
+                            "FROM SEAT_LEASES l JOIN EVENTS e ON e.event_id = l.event_id " +
+                            "WHERE e.event_date > :today) " +
+                            "FROM DUAL")
+                    .setParameter("today", LocalDate.now())
+                    .uniqueResult();
+            long stamp = 17;
+            for (Object sum : sums) {
+                stamp = 31 * stamp + ((Number) sum).longValue();
+            }
+            return stamp;
+        });
+    }
+}
@@ -0,0 +1,310 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.CheckInResult;
+import org.example.eventregapp.util.TicketCodes;
+import org.example.eventregapp.util.TicketIndex;
+import org.example.eventregapp.util.UnitOfWork;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Check-in at the door.
+ * Every registration has a signed ticket code ({@link TicketCodes}) derived from its ID, so no
+ * code has to be stored. Opening a station for an event loads all of its tickets into a
+ * {@link TicketIndex}; after that a scan is an in-memory hash lookup and a CAS on a bitset, and
+ * keeps working while the database is unreachable. Check-ins are written to
+ * REGISTRATIONS.checked_in_at in JDBC batches every couple of seconds, and check-ins made at other
+ * stations are pulled in on the same schedule.
+ * <p>
+ * The signing key comes from {@code -Deventreg.ticket.secret} or, if that is not set, from
+ * {@code ~/.eventregapp/ticket.key} (created on first use). All nodes that issue tickets or run
+ * stations must use the same key.
+ */
+public class CheckInService {
+
+    public static final Path KEY_FILE = Paths.get(System.getProperty("user.home"), ".eventregapp", "ticket.key");
+
+    private static final long SYNC_MILLIS = Long.getLong("eventreg.checkin.syncMillis", 2000);
+
+    // Check-ins from other stations are pulled with this much overlap, to allow for clock skew
+    private static final long PULL_OVERLAP_SECONDS = 30;
+
+    private static final Map<Long, Station> stations = new ConcurrentHashMap<>();
+    private static volatile TicketCodes ticketCodes;
+    private static ScheduledExecutorService syncer;
+
+    /**
+     * Get the ticket code of a registration
+     */
+    public static String getTicketCode(Long registrationId, Long eventId) {
+        return TicketCodes.format(codes().issue(registrationId, eventId));
+    }
+
+    /**
+     * Load the tickets of an event into a station, replacing an open one (e.g. to pick up new registrations)
+     *
+     * @return number of tickets loaded
+     */
+    public static int openStation(Long eventId) {
+        TicketCodes codes = codes();
+        Station station = UnitOfWork.read(session -> {
+            List<Object[]> rows = session.createQuery(
+                    "SELECT r.registrationId, p.fullName, r.checkedInAt FROM Registration r JOIN r.participant p " +
+                            "WHERE r.event.eventId = :eventId", Object[].class)
+                    .setParameter("eventId", eventId)
+                    .list();
+
+            long[] tickets = new long[rows.size()];
+            String[] names = new String[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                tickets[i] = codes.issue((Long) rows.get(i)[0], eventId);
+                names[i] = (String) rows.get(i)[1];
+            }
+            Station loaded = new Station(eventId, new TicketIndex(tickets), names);
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i)[2] != null) {
+                    loaded.index.checkIn(i);
+                }
+            }
+            return loaded;
+        });
+
+        // Scans not yet synced from the station being replaced are carried over
+        Station previous = stations.put(eventId, station);
+        if (previous != null) {
+            PendingCheckIn pending;
+            while ((pending = previous.pending.poll()) != null) {
+                int position = station.index.positionOf(codes.issue(pending.registrationId(), eventId));
+                if (position >= 0) {
+                    station.index.checkIn(position);
+                    station.pending.add(pending);
+                }
+            }
+        }
+        ensureSyncer();
+        return station.index.size();
+    }
+
+    /**
+     * Verify a scanned ticket and check it in; never touches the database
+     */
+    public static CheckInResult scan(Long eventId, String code) {
+        Station station = stations.get(eventId);
+        if (station == null) {
+            return new CheckInResult(CheckInResult.Status.STATION_NOT_OPEN, null);
+        }
+        long ticket = TicketCodes.parse(code);
+        int position = station.index.positionOf(ticket);
+        if (position < 0) {
+            return new CheckInResult(CheckInResult.Status.INVALID, null);
+        }
+        if (!station.index.checkIn(position)) {
+            return new CheckInResult(CheckInResult.Status.ALREADY_CHECKED_IN, station.names[position]);
+        }
+        station.pending.add(new PendingCheckIn(TicketCodes.registrationIdOf(ticket), LocalDateTime.now()));
+        return new CheckInResult(CheckInResult.Status.CHECKED_IN, station.names[position]);
+    }
+
+    /**
+     * Drop the station of a deleted event; its unsynced check-ins have no rows left to go to
+     */
+    public static void closeStation(Long eventId) {
+        stations.remove(eventId);
+    }
+
+    public static boolean isStationOpen(Long eventId) {
+        return stations.containsKey(eventId);
+    }
+
+    public static int getCheckedInCount(Long eventId) {
+        Station station = stations.get(eventId);
+        return station != null ? station.index.getCheckedInCount() : 0;
+    }
+
+    public static int getTicketCount(Long eventId) {
+        Station station = stations.get(eventId);
+        return station != null ? station.index.size() : 0;
+    }
+
+    /**
+     * Number of check-ins not yet written to the database, e.g. during an outage
+     */
+    public static int getPendingSyncCount() {
+        int count = 0;
+        for (Station station : stations.values()) {
+            count += station.pending.size();
+        }
+        return count;
+    }
+
+    /**
+     * Write pending check-ins of all stations and pull check-ins made elsewhere
+     */
+    public static void sync() {
+        for (Station station : stations.values()) {
+            push(station);
+            pull(station);
+        }
+    }
+
+    /**
+     * Stop the background sync after a final one (called at shutdown)
+     */
+    public static synchronized void stop() {
+        if (syncer != null) {
+            syncer.shutdownNow();
+            syncer = null;
+        }
+        for (Station station : stations.values()) {
+            push(station);
+        }
+        int unsynced = getPendingSyncCount();
+        if (unsynced > 0) {
+            System.err.println(unsynced + " check-ins could not be written to the database");
+        }
+    }
+
+    private static void push(Station station) {
+        List<PendingCheckIn> batch = new ArrayList<>();
+        PendingCheckIn pending;
+        while ((pending = station.pending.poll()) != null) {
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            UnitOfWork.inTransaction(session -> {
+                // One round trip for the whole batch; an earlier check-in at another station wins
+                session.doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "UPDATE REGISTRATIONS SET checked_in_at = ? " +
+                                    "WHERE registration_id = ? AND checked_in_at IS NULL")) {
+                        for (PendingCheckIn checkIn : batch) {
+                            statement.setTimestamp(1, Timestamp.valueOf(checkIn.checkedInAt()));
+                            statement.setLong(2, checkIn.registrationId());
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            // Keep them for the next round; the station goes on checking people in meanwhile
+            station.pending.addAll(batch);
+            System.err.println("Check-in sync failed, " + batch.size() + " check-ins kept: " + e.getMessage());
+        }
+    }
+
+    private static void pull(Station station) {
+        LocalDateTime since = station.lastPull.minusSeconds(PULL_OVERLAP_SECONDS);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            List<Long> checkedIn = UnitOfWork.read(session -> session.createQuery(
+                    "SELECT r.registrationId FROM Registration r " +
+                            "WHERE r.event.eventId = :eventId AND r.checkedInAt >= :since", Long.class)
+                    .setParameter("eventId", station.eventId)
+                    .setParameter("since", since)
+                    .list());
+            TicketCodes codes = codes();
+            for (Long registrationId : checkedIn) {
+                int position = station.index.positionOf(codes.issue(registrationId, station.eventId));
+                if (position >= 0) {
+                    station.index.checkIn(position);
+                }
+            }
+            station.lastPull = now;
+        } catch (Exception e) {
+            // Offline: the station keeps working on what it has
+        }
+    }
+
+    private static synchronized void ensureSyncer() {
+        if (syncer != null) {
+            return;
+        }
+        syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "check-in-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (Exception e) {
+                System.err.println("Error syncing check-ins: " + e.getMessage());
+            }
+        }, SYNC_MILLIS, SYNC_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static TicketCodes codes() {
+        TicketCodes codes = ticketCodes;
+        if (codes == null) {
+            synchronized (CheckInService.class) {
+                if (ticketCodes == null) {
+                    ticketCodes = new TicketCodes(loadSecret());
+                }
+                codes = ticketCodes;
+            }
+        }
+        return codes;
+    }
+
+    private static byte[] loadSecret() {
+        String secret = System.getProperty("eventreg.ticket.secret");
+        if (secret != null && !secret.isEmpty()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            if (Files.exists(KEY_FILE)) {
+                return Files.readAllBytes(KEY_FILE);
+            }
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            Files.createDirectories(KEY_FILE.getParent());
+            Files.write(KEY_FILE, key);
+            return key;
+        } catch (IOException e) {
+            throw new IllegalStateException("Ticket key could not be loaded: " + e.getMessage(), e);
+        }
+    }
+
+    private record PendingCheckIn(long registrationId, LocalDateTime checkedInAt) {
+    }
+
+    /**
+     * Loaded tickets and unsynced check-ins of one event
+     */
+    private static final class Station {
+
+        private final Long eventId;
+        private final TicketIndex index;
+        private final String[] names;
+        private final Queue<PendingCheckIn> pending = new ConcurrentLinkedQueue<>();
+        private volatile LocalDateTime lastPull = LocalDateTime.now();
+
+        Station(Long eventId, TicketIndex index, String[] names) {
+            this.eventId = eventId;
+            this.index = index;
+            this.names = names;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.AuditEvent;
+import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.util.UnitOfWork;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Deletes events and participants with set-based statements.
+ * Deleting an entity through the session loads its registrations collection and deletes the rows one
+ * by one; here each step is one DELETE per chunk of IDs, and the database removes the dependent rows
+ * (stripes, leases, reporting rows, a participant's registrations) through ON DELETE CASCADE.
+ * Counters and the in-memory indexes are updated for what was deleted.
+ */
+public class DeletionService {
+
+    // Oracle allows at most 1000 expressions in an IN list
+    private static final int CHUNK_SIZE = 1000;
+
+    private record DeletedEvent(Long eventId, String eventName) {
+    }
+
+    private record DeletedParticipant(Long participantId, String email, List<Long> registeredEventIds) {
+    }
+
+    /**
+     * Delete events together with their registrations
+     */
+    public static String deleteEvents(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return "Please select an event to delete";
+        }
+        List<Long> ids = new ArrayList<>(new TreeSet<>(eventIds));
+
+        List<DeletedEvent> deleted;
+        try {
+            deleted = UnitOfWork.inTransaction(session -> {
+                List<DeletedEvent> events = new ArrayList<>();
+                for (List<Long> chunk : chunks(ids)) {
+                    for (Object[] row : session.createQuery(
+                            "SELECT e.eventId, e.eventName FROM Event e WHERE e.eventId IN (:ids)", Object[].class)
+                            .setParameterList("ids", chunk)
+                            .list()) {
+                        events.add(new DeletedEvent((Long) row[0], (String) row[1]));
+                    }
+
+                    // Registrations go first: the counter trigger on REGISTRATIONS updates EVENTS, which
+                    // Oracle does not allow while the EVENTS rows themselves are being deleted
+                    session.createQuery("DELETE FROM Registration r WHERE r.event.eventId IN (:ids)")
+                            .setParameterList("ids", chunk)
+                            .executeUpdate();
+                    session.createQuery("DELETE FROM Event e WHERE e.eventId IN (:ids)")
+                            .setParameterList("ids", chunk)
+                            .executeUpdate();
+                }
+                return events;
+            });
+        } catch (Exception e) {
+            System.err.println("Error deleting events: " + e.getMessage());
+            return "Error deleting events: " + e.getMessage();
+        }
+
+        for (DeletedEvent event : deleted) {
+            SearchService.removeEvent(event.eventId());
+            EventCalendarService.removeEvent(event.eventId());
+            AnalyticsService.removeEvent(event.eventId());
+            RegistrationIndexService.removeEvent(event.eventId());
+            CheckInService.closeStation(event.eventId());
+            SeatLeaseService.forgetEvent(event.eventId());
+            AuditService.record(AuditEvent.Action.EVENT_DELETED, null, event.eventId(), event.eventName());
+        }
+        return deleted.size() == 1 ? "Event deleted successfully" : deleted.size() + " events deleted successfully";
+    }
+
+    /**
+     * Delete participants together with their registrations
+     */
+    public static String deleteParticipants(Collection<Long> participantIds) {
+        if (participantIds.isEmpty()) {
+            return "Please select a user to delete";
+        }
+        List<Long> ids = new ArrayList<>(new TreeSet<>(participantIds));
+
+        List<DeletedParticipant> deleted;
+        try {
+            deleted = UnitOfWork.inTransaction(session -> {
+                List<DeletedParticipant> participants = new ArrayList<>();
+                for (List<Long> chunk : chunks(ids)) {
+                    participants.addAll(deleteParticipantChunk(session, chunk));
+                }
+                return participants;
+            });
+        } catch (Exception e) {
+            System.err.println("Error deleting users: " + e.getMessage());
+            return "Error deleting users: " + e.getMessage();
+        }
+
+        for (DeletedParticipant participant : deleted) {
+            SearchService.removeParticipant(participant.participantId());
+            RegistrationIndexService.removeParticipant(participant.participantId());
+            participant.registeredEventIds().forEach(AnalyticsService::recordUnregistration);
+            AuditService.record(AuditEvent.Action.USER_DELETED, participant.participantId(), null,
+                    participant.email());
+        }
+        return deleted.size() == 1 ? "User deleted successfully" : deleted.size() + " users deleted successfully";
+    }
+
+    private static List<DeletedParticipant> deleteParticipantChunk(Session session, List<Long> chunk) {
+        // Only the ID and flag columns of the registrations are read, no entities are loaded
+        Map<Long, List<Long>> registeredEventIds = new HashMap<>();
+        for (Object[] row : session.createQuery(
+                "SELECT r.participant.participantId, e.eventId, e.hot FROM Registration r JOIN r.event e " +
+                        "WHERE r.participant.participantId IN (:ids)", Object[].class)
+                .setParameterList("ids", chunk)
+                .list()) {
+            Long participantId = (Long) row[0];
+            Long eventId = (Long) row[1];
+            registeredEventIds.computeIfAbsent(participantId, id -> new ArrayList<>()).add(eventId);
+            // The counter trigger skips hot events, so their stripes give the seat back here
+            if (Boolean.TRUE.equals(row[2])) {
+                StripedCounterService.decrement(session, session.load(Event.class, eventId),
+                        session.load(Participant.class, participantId));
+            }
+        }
+
+        List<DeletedParticipant> participants = new ArrayList<>();
+        for (Object[] row : session.createQuery(
+                "SELECT p.participantId, p.email, p.role FROM Participant p WHERE p.participantId IN (:ids)",
+                Object[].class)
+                .setParameterList("ids", chunk)
+                .list()) {
+            Long participantId = (Long) row[0];
+            List<Long> eventIds = registeredEventIds.getOrDefault(participantId, List.of());
+            ReportingService.recordParticipantRemoved(session, (String) row[2], eventIds);
+            participants.add(new DeletedParticipant(participantId, (String) row[1], eventIds));
+        }
+
+        // REGISTRATIONS rows go with their participant through ON DELETE CASCADE
+        session.createQuery("DELETE FROM Participant p WHERE p.participantId IN (:ids)")
+                .setParameterList("ids", chunk)
+                .executeUpdate();
+        return participants;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += CHUNK_SIZE) {
+            chunks.add(ids.subList(start, Math.min(start + CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+}
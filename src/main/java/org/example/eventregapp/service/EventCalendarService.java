@@ -0,0 +1,104 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.EventSummary;
+import org.example.eventregapp.util.EventCalendarIndex;
+import org.example.eventregapp.util.UnitOfWork;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * Calendar queries over events ("what's on this week", "events on the same day as X").
+ * Backed by an in-memory date index that is loaded once and kept in sync with event writes.
+ * Event writes made on other instances are merged in from the rows a view loads.
+ */
+public class EventCalendarService {
+
+    private static final EventCalendarIndex index = new EventCalendarIndex();
+    private static volatile boolean loaded;
+
+    /**
+     * Events from Monday to Sunday of the week containing the given date
+     */
+    public static List<EventCalendarIndex.Entry> getWeek(LocalDate date) {
+        ensureLoaded();
+        LocalDate monday = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return index.between(monday, monday.plusDays(6));
+    }
+
+    public static List<EventCalendarIndex.Entry> getEventsBetween(LocalDate from, LocalDate to) {
+        ensureLoaded();
+        return index.between(from, to);
+    }
+
+    public static List<EventCalendarIndex.Entry> getNextEvents(LocalDate from, int count) {
+        ensureLoaded();
+        return index.next(from, count);
+    }
+
+    public static List<EventCalendarIndex.Entry> getEventsOnSameDay(LocalDate date) {
+        ensureLoaded();
+        return index.sameDay(date);
+    }
+
+    /**
+     * Find the events accepted by {@code isRegistered} that take place on the same day as the given event
+     */
+    public static List<EventCalendarIndex.Entry> findClashes(Long eventId, LocalDate eventDate,
+            LongPredicate isRegistered) {
+        List<EventCalendarIndex.Entry> clashes = new ArrayList<>();
+        for (EventCalendarIndex.Entry entry : getEventsOnSameDay(eventDate)) {
+            if (!entry.eventId().equals(eventId) && isRegistered.test(entry.eventId())) {
+                clashes.add(entry);
+            }
+        }
+        return clashes;
+    }
+
+    public static void indexEvent(Event event) {
+        if (loaded && event.getEventId() != null) {
+            index.put(event.getEventId(), event.getEventName(), event.getEventDate());
+        }
+    }
+
+    /**
+     * Add or move the given events, e.g. the rows a view just loaded, which may include events
+     * created or changed on another instance
+     */
+    public static void indexEvents(Collection<EventSummary> events) {
+        ensureLoaded();
+        for (EventSummary event : events) {
+            index.put(event.eventId(), event.eventName(), event.eventDate());
+        }
+    }
+
+    public static void removeEvent(Long eventId) {
+        index.remove(eventId);
+    }
+
+    /**
+     * Load the index from the database if that has not happened yet
+     */
+    public static synchronized void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        try {
+            List<Object[]> events = UnitOfWork.read(session -> session.createQuery(
+                    "SELECT e.eventId, e.eventName, e.eventDate FROM Event e", Object[].class)
+                    .list());
+            for (Object[] row : events) {
+                index.put((Long) row[0], (String) row[1], (LocalDate) row[2]);
+            }
+            loaded = true;
+        } catch (Exception e) {
+            System.err.println("Error loading event calendar: " + e.getMessage());
+        }
+    }
+}
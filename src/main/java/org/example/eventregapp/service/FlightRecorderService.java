@@ -0,0 +1,99 @@
+package org.example.eventregapp.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Continuous JDK Flight Recorder recording, so a slow registration or login can be looked at afterwards.
+ * Enabled with {@code -Deventreg.jfr=true}: the JDK's "default" settings (about 1% overhead) plus the
+ * app's own events in {@code org.example.eventregapp.diagnostics}, kept on disk for the last
+ * {@code eventreg.jfr.maxAgeMinutes} (30) and at most {@code eventreg.jfr.maxSizeMb} (100).
+ * The admin view dumps it to a file for JDK Mission Control or {@code jfr print}.
+ */
+public class FlightRecorderService {
+
+    private static final String RECORDING_NAME = "eventreg-continuous";
+    private static final long MAX_AGE_MINUTES = Long.getLong("eventreg.jfr.maxAgeMinutes", 30);
+    private static final long MAX_SIZE_MB = Long.getLong("eventreg.jfr.maxSizeMb", 100);
+
+    private static Recording recording;
+
+    /**
+     * Start the continuous recording if it is enabled
+     */
+    public static synchronized void start() {
+        if (recording != null || !Boolean.getBoolean("eventreg.jfr")) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            System.err.println("Flight recording requested, but JFR is not available in this JVM");
+            return;
+        }
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration("default"));
+            continuous.setName(RECORDING_NAME);
+            continuous.setToDisk(true);
+            continuous.setMaxAge(Duration.ofMinutes(MAX_AGE_MINUTES));
+            continuous.setMaxSize(MAX_SIZE_MB * 1024 * 1024);
+            continuous.start();
+            recording = continuous;
+        } catch (IOException | ParseException | RuntimeException e) {
+            System.err.println("Error starting flight recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write what has been recorded so far to a file; the recording keeps running
+     *
+     * @return Success or error message
+     */
+    public static synchronized String dump(Path file) {
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                recording.dump(file);
+                return "Flight recording written to " + file;
+            }
+            // Also covers a recording started with -XX:StartFlightRecording
+            if (FlightRecorder.isInitialized() && hasRunningRecording()) {
+                try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+                    snapshot.dump(file);
+                }
+                return "Flight recording written to " + file;
+            }
+            return "No flight recording is running. Start the application with -Deventreg.jfr=true";
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error dumping flight recording: " + e.getMessage());
+            return "Error writing flight recording: " + e.getMessage();
+        }
+    }
+
+    public static synchronized boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    /**
+     * Stop and discard the continuous recording (called at shutdown)
+     */
+    public static synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static boolean hasRunningRecording() {
+        for (Recording running : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (running.getState() == RecordingState.RUNNING) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
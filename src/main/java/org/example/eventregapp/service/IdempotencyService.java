@@ -0,0 +1,147 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.IdempotencyKey;
+import org.example.eventregapp.util.ExpiringLruCache;
+import org.example.eventregapp.util.UnitOfWork;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the outcome of registration requests by client idempotency key, so a double
+ * click or a retry after a timeout returns the first result instead of running again.
+ * Recent outcomes are served from a bounded in-memory cache; committed outcomes are also
+ * stored in IDEMPOTENCY_KEYS so that replays still work after a cache eviction or restart.
+ * Keys older than the retention period are purged by a background job, outside any request.
+ */
+public class IdempotencyService {
+
+    public static final String REGISTER = "REGISTER";
+    public static final String UNREGISTER = "UNREGISTER";
+    public static final String REGISTER_CART = "REGISTER_CART";
+
+    private static final int MAX_CACHED_KEYS = 10_000;
+    private static final long CACHE_TTL_MILLIS = 10 * 60 * 1000L;
+    private static final long RETENTION_HOURS = 24;
+    private static final long PURGE_INTERVAL_MILLIS = 60 * 60 * 1000L;
+
+    private record Outcome(String operation, Long participantId, Long eventId, String result) {
+        boolean matches(String operation, Long participantId, Long eventId) {
+            return this.operation.equals(operation)
+                    && Objects.equals(this.participantId, participantId)
+                    && Objects.equals(this.eventId, eventId);
+        }
+    }
+
+    private static final ExpiringLruCache<String, Outcome> cache =
+            new ExpiringLruCache<>(MAX_CACHED_KEYS, CACHE_TTL_MILLIS);
+    private static ScheduledExecutorService purger;
+
+    /**
+     * Find the result of an earlier request with this key
+     *
+     * @return the original result, or null if the key is new
+     */
+    public static String findResult(String key, String operation, Long participantId, Long eventId) {
+        if (key == null) {
+            return null;
+        }
+
+        Outcome outcome = cache.get(key);
+        if (outcome == null) {
+            try {
+                outcome = UnitOfWork.read(session -> {
+                    IdempotencyKey stored = session.get(IdempotencyKey.class, key);
+                    if (stored == null || stored.getCreatedAt().isBefore(retentionCutoff())) {
+                        return null;
+                    }
+                    return new Outcome(stored.getOperation(), stored.getParticipantId(),
+                            stored.getEventId(), stored.getResult());
+                });
+            } catch (Exception e) {
+                System.err.println("Error reading idempotency key: " + e.getMessage());
+                return null;
+            }
+            if (outcome == null) {
+                return null;
+            }
+            cache.put(key, outcome);
+        }
+
+        if (!outcome.matches(operation, participantId, eventId)) {
+            return "This request key was already used for a different request";
+        }
+        return outcome.result();
+    }
+
+    /**
+     * Store the outcome in the current unit of work, so it commits together with the change it describes
+     */
+    public static void save(Session session, String key, String operation, Long participantId, Long eventId,
+            String result) {
+        if (key == null) {
+            return;
+        }
+        session.save(new IdempotencyKey(key, operation, participantId, eventId, result));
+    }
+
+    /**
+     * Cache the outcome of a finished request, including validation failures that were rolled back
+     */
+    public static void remember(String key, String operation, Long participantId, Long eventId, String result) {
+        if (key != null) {
+            cache.put(key, new Outcome(operation, participantId, eventId, result));
+        }
+    }
+
+    /**
+     * Start purging expired keys once an hour
+     */
+    public static synchronized void start() {
+        if (purger != null) {
+            return;
+        }
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(() -> {
+            try {
+                purgeExpired();
+            } catch (Exception e) {
+                System.err.println("Error purging idempotency keys: " + e.getMessage());
+            }
+        }, 0, PURGE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the purge job (called at shutdown)
+     */
+    public static synchronized void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+            purger = null;
+        }
+    }
+
+    /**
+     * Delete the keys older than the retention period, in a transaction of its own
+     *
+     * @return number of keys deleted
+     */
+    public static int purgeExpired() {
+        return UnitOfWork.inTransaction(session -> session.createQuery(
+                "DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+                .setParameter("cutoff", retentionCutoff())
+                .executeUpdate());
+    }
+
+    private static LocalDateTime retentionCutoff() {
+        return LocalDateTime.now().minusHours(RETENTION_HOURS);
+    }
+}
@@ -0,0 +1,238 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.EventSummary;
+import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.util.DatabaseResilience;
+import org.example.eventregapp.util.DatabaseUnavailableException;
+import org.example.eventregapp.util.LongHashSet;
+import org.example.eventregapp.util.RegistrationJournal;
+import org.example.eventregapp.util.UnitOfWork;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts registrations while the database is unreachable.
+ * They are checked against the last seat inventory loaded from the database, written to the
+ * {@link RegistrationJournal}, and replayed in order through {@link RegistrationService} once
+ * the database is back. Replays use the original idempotency key, so a registration is never
+ * applied twice; replays that are rejected (e.g. the event filled up meanwhile) are kept as conflicts,
+ * listed for the admin and handed once to the participant's view.
+ */
+public class OfflineRegistrationService {
+
+    public static final String PROVISIONAL_MESSAGE =
+            "Database unavailable: registration saved offline and will be confirmed when the connection is back";
+
+    private static final Path JOURNAL_PATH = Paths.get(System.getProperty("eventreg.journal.path",
+            Paths.get(System.getProperty("user.home"), ".eventregapp", "registration-journal.dat").toString()));
+    private static final int JOURNAL_BYTES = Integer.getInteger("eventreg.journal.bytes", 8 * 1024 * 1024);
+    private static final long FLUSH_MILLIS = Long.getLong("eventreg.journal.flushMillis", 20);
+    private static final long REPLAY_SECONDS = 10;
+
+    /**
+     * Offline registration the database rejected when it was replayed
+     */
+    public record Conflict(Long participantId, Long eventId, String eventName, String reason,
+            LocalDateTime rejectedAt) {
+    }
+
+    // Last known seats per event, and seats taken offline since then
+    private static final Map<Long, EventSummary> inventory = new ConcurrentHashMap<>();
+    private static final Map<Long, Integer> provisionalSeats = new ConcurrentHashMap<>();
+    private static final List<Conflict> conflicts = Collections.synchronizedList(new ArrayList<>());
+
+    // Conflicts the participant has not been shown yet; they were told the registration would be confirmed
+    private static final Map<Long, List<Conflict>> unseenConflicts = new ConcurrentHashMap<>();
+
+    private static RegistrationJournal journal;
+    private static ScheduledExecutorService replayer;
+
+    /**
+     * Open the journal and start replaying anything left from a previous run
+     */
+    public static synchronized void start() {
+        if (journal != null) {
+            return;
+        }
+        try {
+            journal = new RegistrationJournal(JOURNAL_PATH, JOURNAL_BYTES, FLUSH_MILLIS);
+        } catch (IOException e) {
+            System.err.println("Offline registrations disabled, journal could not be opened: " + e.getMessage());
+            return;
+        }
+        for (RegistrationJournal.Entry entry : journal.getPending()) {
+            provisionalSeats.merge(entry.eventId(), 1, Integer::sum);
+        }
+        replayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "registration-journal-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        replayer.scheduleWithFixedDelay(OfflineRegistrationService::replay, 0, REPLAY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public static synchronized void stop() {
+        if (replayer != null) {
+            replayer.shutdownNow();
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Error closing registration journal: " + e.getMessage());
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * Check whether a failed registration should be taken offline instead: only when the database
+     * cannot be reached, not for a deadlock that outlasted the retries on a database that is up
+     */
+    public static boolean isOutage(Exception error) {
+        return error instanceof DatabaseUnavailableException || DatabaseResilience.isConnectionFailure(error);
+    }
+
+    /**
+     * Remember the seat inventory of freshly loaded events
+     */
+    public static void updateInventory(List<EventSummary> events) {
+        for (EventSummary event : events) {
+            inventory.put(event.eventId(), event);
+        }
+    }
+
+    /**
+     * Accept a registration into the journal against the cached seat inventory
+     *
+     * @return the message for the user, or null if it cannot be accepted offline
+     */
+    public static String registerProvisionally(Participant participant, Long eventId, String idempotencyKey) {
+        RegistrationJournal current = journal;
+        if (current == null || idempotencyKey == null) {
+            return null;
+        }
+        if (current.isPending(idempotencyKey)) {
+            return PROVISIONAL_MESSAGE;
+        }
+
+        EventSummary event = inventory.get(eventId);
+        if (event == null || !event.eventDate().isAfter(LocalDate.now())) {
+            return null;
+        }
+
+        synchronized (OfflineRegistrationService.class) {
+            int taken = provisionalSeats.getOrDefault(eventId, 0);
+            if (taken >= event.availableSeats()) {
+                return "Event is full. No more registrations allowed";
+            }
+            RegistrationJournal.Entry entry = new RegistrationJournal.Entry(idempotencyKey,
+                    participant.getParticipantId(), eventId, System.currentTimeMillis());
+            if (!current.appendPending(entry)) {
+                return null;
+            }
+            provisionalSeats.merge(eventId, 1, Integer::sum);
+        }
+        return PROVISIONAL_MESSAGE;
+    }
+
+    public static boolean isPending(String idempotencyKey) {
+        RegistrationJournal current = journal;
+        return current != null && idempotencyKey != null && current.isPending(idempotencyKey);
+    }
+
+    public static int getPendingCount() {
+        RegistrationJournal current = journal;
+        return current != null ? current.getPendingCount() : 0;
+    }
+
+    /**
+     * Get the events a participant registered for offline that are still waiting for replay
+     */
+    public static LongHashSet getPendingEventIds(Long participantId) {
+        LongHashSet eventIds = new LongHashSet();
+        RegistrationJournal current = journal;
+        if (current != null) {
+            for (RegistrationJournal.Entry entry : current.getPending()) {
+                if (entry.participantId() == participantId) {
+                    eventIds.add(entry.eventId());
+                }
+            }
+        }
+        return eventIds;
+    }
+
+    /**
+     * Get replayed registrations the database rejected, e.g. because the event filled up meanwhile
+     */
+    public static List<Conflict> getConflicts() {
+        synchronized (conflicts) {
+            return new ArrayList<>(conflicts);
+        }
+    }
+
+    /**
+     * Get the participant's rejected offline registrations that have not been shown to them yet;
+     * each one is returned only once
+     */
+    public static List<Conflict> takeUnseenConflicts(Long participantId) {
+        List<Conflict> unseen = unseenConflicts.remove(participantId);
+        return unseen != null ? unseen : List.of();
+    }
+
+    /**
+     * Write pending registrations to the database in the order they were accepted
+     */
+    static void replay() {
+        RegistrationJournal current = journal;
+        if (current == null || current.getPendingCount() == 0) {
+            return;
+        }
+
+        for (RegistrationJournal.Entry entry : current.getPending()) {
+            String result;
+            try {
+                Participant participant = UnitOfWork.read(
+                        session -> session.get(Participant.class, entry.participantId()));
+                result = participant == null
+                        ? "Participant no longer exists"
+                        : RegistrationService.registerOnline(participant, entry.eventId(), entry.key());
+            } catch (Exception e) {
+                if (isOutage(e) || DatabaseResilience.isTransient(e)) {
+                    // Still offline or busy: keep this and the following entries for the next attempt
+                    return;
+                }
+                result = "Registration failed: " + e.getMessage();
+            }
+
+            if (!result.contains("successful") && !result.contains("already registered")) {
+                System.err.println("Offline registration of participant " + entry.participantId() +
+                        " for event " + entry.eventId() + " rejected: " + result);
+                EventSummary event = inventory.get(entry.eventId());
+                Conflict conflict = new Conflict(entry.participantId(), entry.eventId(),
+                        event != null ? event.eventName() : "Event " + entry.eventId(), result, LocalDateTime.now());
+                conflicts.add(conflict);
+                // compute() is atomic with the remove() in takeUnseenConflicts, so none is lost
+                unseenConflicts.compute(entry.participantId(), (id, unseen) -> {
+                    List<Conflict> updated = unseen != null ? unseen : new ArrayList<>();
+                    updated.add(conflict);
+                    return updated;
+                });
+            }
+            current.markDone(entry.key());
+            provisionalSeats.computeIfPresent(entry.eventId(), (id, seats) -> seats > 1 ? seats - 1 : null);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.OutboxMessage;
+import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.model.Registration;
+import org.example.eventregapp.util.FileMessageSender;
+import org.example.eventregapp.util.MessageSender;
+import org.example.eventregapp.util.SmtpMessageSender;
+import org.example.eventregapp.util.UnitOfWork;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for registration confirmations.
+ * {@link #enqueueConfirmation} writes an OUTBOX_MESSAGES row in the registration's own transaction,
+ * so a confirmation exists exactly when the registration does and the mail call is not part of
+ * the registration's latency. A background dispatcher claims due rows in batches with
+ * {@code FOR UPDATE SKIP LOCKED} (so several nodes can dispatch without sending a row twice),
+ * sends them on a bounded pool of sender threads and records the outcomes in one transaction.
+ * Failed sends are retried with exponential backoff; delivery is at least once.
+ * <p>
+ * Messages go to {@code .eml} files under {@code ~/.eventregapp/outbox} ({@code -Deventreg.outbox.dir})
+ * unless {@code -Deventreg.outbox.smtpHost} (and optionally {@code .smtpPort}) points at an SMTP relay.
+ */
+public class OutboxService {
+
+    public static final String REGISTRATION_CONFIRMATION = "REGISTRATION_CONFIRMATION";
+
+    public static final Path OUTBOX_DIRECTORY = Paths.get(System.getProperty("eventreg.outbox.dir",
+            Paths.get(System.getProperty("user.home"), ".eventregapp", "outbox").toString()));
+
+    private static final String FROM = System.getProperty("eventreg.outbox.from", "no-reply@invente.ssn.edu.in");
+    private static final int BATCH_SIZE = Integer.getInteger("eventreg.outbox.batchSize", 50);
+    private static final int SENDER_THREADS = Integer.getInteger("eventreg.outbox.senders", 4);
+    private static final int MAX_ATTEMPTS = Integer.getInteger("eventreg.outbox.maxAttempts", 8);
+    private static final long POLL_MILLIS = Long.getLong("eventreg.outbox.pollMillis", 1000);
+    private static final long DRAIN_MILLIS = Long.getLong("eventreg.outbox.drainMillis", 10_000);
+
+    // A claimed row that is not completed within this time (e.g. the node died) can be claimed again
+    private static final long CLAIM_SECONDS = 120;
+    private static final long RETRY_BASE_SECONDS = 5;
+    private static final long RETRY_MAX_SECONDS = 3600;
+
+    private static final Object signal = new Object();
+    private static boolean wakeUpRequested;
+
+    private static final AtomicLong sentCount = new AtomicLong();
+    private static final AtomicLong retryCount = new AtomicLong();
+    private static final AtomicLong failedCount = new AtomicLong();
+
+    private static volatile MessageSender sender;
+    private static volatile boolean running;
+    private static ThreadPoolExecutor sendPool;
+    private static Thread dispatcher;
+
+    /**
+     * Queue a registration confirmation in the caller's transaction
+     */
+    public static void enqueueConfirmation(Session session, Registration registration) {
+        Participant participant = registration.getParticipant();
+        Event event = registration.getEvent();
+        String subject = "Registration confirmed: " + event.getEventName();
+        String body = "Hello " + participant.getFullName() + ",\n\n" +
+                "Your registration for " + event.getEventName() + " on " + event.getEventDate() + " is confirmed.\n" +
+                "Your ticket code: " + CheckInService.getTicketCode(registration.getRegistrationId(), event.getEventId()) +
+                "\n\nShow this code at the entrance to check in.\n\n" +
+                "See you there!\n" +
+                "INVENTE'25 | SSN College of Engineering";
+        session.save(new OutboxMessage(REGISTRATION_CONFIRMATION, participant.getEmail(), subject, body));
+    }
+
+    /**
+     * Let the dispatcher know that new messages were committed, instead of waiting for its next poll
+     */
+    public static void wakeUp() {
+        synchronized (signal) {
+            wakeUpRequested = true;
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Replace the sender, e.g. with a real mail provider
+     */
+    public static void setSender(MessageSender messageSender) {
+        sender = messageSender;
+    }
+
+    /**
+     * Start the dispatcher thread and the sender pool
+     */
+    public static synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (sender == null) {
+            try {
+                sender = createDefaultSender();
+            } catch (IOException e) {
+                System.err.println("Outbox disabled, sender could not be created: " + e.getMessage());
+                return;
+            }
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // At most one batch is queued at a time, so the queue bound is never hit
+        sendPool = new ThreadPoolExecutor(SENDER_THREADS, SENDER_THREADS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(BATCH_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        running = true;
+        dispatcher = new Thread(OutboxService::dispatchLoop, "outbox-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Stop claiming in the background and send what is due, for up to the drain timeout (called at shutdown)
+     */
+    public static synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wakeUp();
+        long deadline = System.currentTimeMillis() + DRAIN_MILLIS;
+        try {
+            // Let the batch in flight finish
+            dispatcher.join(DRAIN_MILLIS);
+            while (System.currentTimeMillis() < deadline && dispatchBatch() > 0) {
+                Thread.yield();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Error draining outbox: " + e.getMessage());
+        }
+        sendPool.shutdown();
+    }
+
+    /**
+     * Claim one batch of due messages, send them and record the outcomes
+     *
+     * @return number of messages claimed
+     */
+    public static int dispatchBatch() throws InterruptedException {
+        List<OutboxMessage> batch = claim();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        MessageSender messageSender = sender;
+        List<Callable<String>> sends = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            sends.add(() -> {
+                try {
+                    messageSender.send(message.getRecipient(), message.getSubject(), message.getBody());
+                    return null;
+                } catch (Exception e) {
+                    return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                }
+            });
+        }
+
+        Map<Long, String> errors = new HashMap<>();
+        List<Future<String>> results = sendPool.invokeAll(sends, CLAIM_SECONDS / 2, TimeUnit.SECONDS);
+        for (int i = 0; i < batch.size(); i++) {
+            errors.put(batch.get(i).getMessageId(), errorOf(results.get(i)));
+        }
+        complete(errors);
+        return batch.size();
+    }
+
+    public static long getSentCount() {
+        return sentCount.get();
+    }
+
+    public static long getRetryCount() {
+        return retryCount.get();
+    }
+
+    public static long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Messages that were given up on, from every node, newest first
+     *
+     * @param limit maximum number of messages returned
+     */
+    public static List<OutboxMessage> getFailedMessages(int limit) {
+        return UnitOfWork.read(session -> session.createQuery(
+                "FROM OutboxMessage m WHERE m.status = :failed ORDER BY m.createdAt DESC, m.messageId DESC",
+                OutboxMessage.class)
+                .setParameter("failed", OutboxMessage.FAILED)
+                .setMaxResults(limit)
+                .list());
+    }
+
+    private static void dispatchLoop() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = dispatchBatch();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                System.err.println("Error dispatching outbox messages: " + e.getMessage());
+            }
+            // A full batch means there is probably more, so go again without waiting
+            if (claimed < BATCH_SIZE) {
+                awaitWork();
+            }
+        }
+    }
+
+    private static void awaitWork() {
+        synchronized (signal) {
+            try {
+                if (!wakeUpRequested && running) {
+                    signal.wait(POLL_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            wakeUpRequested = false;
+        }
+    }
+
+    private static List<OutboxMessage> claim() {
+        return UnitOfWork.inTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = new ArrayList<>();
+
+            // With SKIP LOCKED rows are locked as they are fetched, so only the first batch is read
+            // and rows locked by another dispatcher are passed over instead of waited for
+            try (ScrollableResults rows = session.createNativeQuery(
+                    "SELECT message_id FROM OUTBOX_MESSAGES " +
+                            "WHERE (status = 'PENDING' AND next_attempt_at <= :now) " +
+                            "OR (status = 'SENDING' AND claimed_until < :now) " +
+                            "FOR UPDATE SKIP LOCKED")
+                    .setParameter("now", now)
+                    .setFetchSize(BATCH_SIZE)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (ids.size() < BATCH_SIZE && rows.next()) {
+                    ids.add(((Number) rows.get(0)).longValue());
+                }
+            }
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+
+            session.createQuery("UPDATE OutboxMessage m SET m.status = :sending, m.claimedUntil = :until " +
+                    "WHERE m.messageId IN (:ids)")
+                    .setParameter("sending", OutboxMessage.SENDING)
+                    .setParameter("until", now.plusSeconds(CLAIM_SECONDS))
+                    .setParameterList("ids", ids)
+                    .executeUpdate();
+            return session.createQuery("FROM OutboxMessage m WHERE m.messageId IN (:ids)", OutboxMessage.class)
+                    .setParameterList("ids", ids)
+                    .list();
+        });
+    }
+
+    private static void complete(Map<Long, String> errors) {
+        UnitOfWork.inTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> messages = session.createQuery(
+                    "FROM OutboxMessage m WHERE m.messageId IN (:ids)", OutboxMessage.class)
+                    .setParameterList("ids", errors.keySet())
+                    .list();
+            for (OutboxMessage message : messages) {
+                String error = errors.get(message.getMessageId());
+                int attempts = message.getAttempts() + 1;
+                message.setAttempts(attempts);
+                message.setClaimedUntil(null);
+                if (error == null) {
+                    message.setStatus(OutboxMessage.SENT);
+                    message.setSentAt(now);
+                    message.setLastError(null);
+                    sentCount.incrementAndGet();
+                } else if (attempts >= MAX_ATTEMPTS) {
+                    message.setStatus(OutboxMessage.FAILED);
+                    message.setLastError(truncate(error));
+                    failedCount.incrementAndGet();
+                    System.err.println("Giving up on outbox message " + message.getMessageId() + ": " + error);
+                } else {
+                    long delay = Math.min(RETRY_BASE_SECONDS << Math.min(attempts - 1, 20), RETRY_MAX_SECONDS);
+                    message.setStatus(OutboxMessage.PENDING);
+                    message.setNextAttemptAt(now.plusSeconds(delay));
+                    message.setLastError(truncate(error));
+                    retryCount.incrementAndGet();
+                }
+            }
+            return null;
+        });
+    }
+
+    private static String errorOf(Future<String> result) throws InterruptedException {
+        if (result.isCancelled()) {
+            return "Send timed out";
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            return String.valueOf(e.getCause());
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() > 255 ? error.substring(0, 255) : error;
+    }
+
+    private static MessageSender createDefaultSender() throws IOException {
+        String smtpHost = System.getProperty("eventreg.outbox.smtpHost");
+        if (smtpHost != null) {
+            return new SmtpMessageSender(smtpHost, Integer.getInteger("eventreg.outbox.smtpPort", 25), FROM);
+        }
+        return new FileMessageSender(OUTBOX_DIRECTORY, FROM);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.util.KeyedRateLimiter;
+import org.example.eventregapp.util.TokenBucket;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limits for registration and login, checked before any database session is opened.
+ * Each operation has per-caller buckets (participant for registration, email for login) and
+ * one global bucket. Rates are read from system properties, e.g.
+ * {@code -Deventreg.rateLimit.register.perParticipant=2}; bursts from the matching {@code .burst} property.
+ */
+public class RateLimitService {
+
+    private static final int MAX_TRACKED_KEYS = 10_000;
+
+    /**
+     * Rejected calls per limit since start-up
+     */
+    public record Metrics(long registerPerParticipant, long registerGlobal, long loginPerEmail, long loginGlobal) {
+    }
+
+    private static final KeyedRateLimiter<Long> registerPerParticipant =
+            keyed("eventreg.rateLimit.register.perParticipant", 2, 5);
+    private static final TokenBucket registerGlobal = global("eventreg.rateLimit.register.global", 50, 100);
+    private static final KeyedRateLimiter<String> loginPerEmail =
+            keyed("eventreg.rateLimit.login.perEmail", 0.2, 5);
+    private static final TokenBucket loginGlobal = global("eventreg.rateLimit.login.global", 20, 40);
+
+    private static final LongAdder rejectedRegisterPerParticipant = new LongAdder();
+    private static final LongAdder rejectedRegisterGlobal = new LongAdder();
+    private static final LongAdder rejectedLoginPerEmail = new LongAdder();
+    private static final LongAdder rejectedLoginGlobal = new LongAdder();
+
+    /**
+     * Check whether a participant may make another registration request now
+     */
+    public static boolean allowRegistration(Long participantId) {
+        if (!registerPerParticipant.tryAcquire(participantId)) {
+            rejectedRegisterPerParticipant.increment();
+            return false;
+        }
+        if (!registerGlobal.tryAcquire()) {
+            // The participant is not charged for a call the global limit turned away
+            registerPerParticipant.release(participantId);
+            rejectedRegisterGlobal.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether another login attempt for this email may be made now
+     */
+    public static boolean allowLogin(String email) {
+        if (!loginPerEmail.tryAcquire(email)) {
+            rejectedLoginPerEmail.increment();
+            return false;
+        }
+        if (!loginGlobal.tryAcquire()) {
+            loginPerEmail.release(email);
+            rejectedLoginGlobal.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public static Metrics getMetrics() {
+        return new Metrics(rejectedRegisterPerParticipant.sum(), rejectedRegisterGlobal.sum(),
+                rejectedLoginPerEmail.sum(), rejectedLoginGlobal.sum());
+    }
+
+    private static <K> KeyedRateLimiter<K> keyed(String property, double defaultRate, int defaultBurst) {
+        return new KeyedRateLimiter<>(rate(property, defaultRate), Integer.getInteger(property + ".burst", defaultBurst),
+                MAX_TRACKED_KEYS);
+    }
+
+    private static TokenBucket global(String property, double defaultRate, int defaultBurst) {
+        return new TokenBucket(rate(property, defaultRate), Integer.getInteger(property + ".burst", defaultBurst));
+    }
+
+    private static double rate(String property, double defaultRate) {
+        String value = System.getProperty(property);
+        return value != null ? Double.parseDouble(value) : defaultRate;
+    }
+}
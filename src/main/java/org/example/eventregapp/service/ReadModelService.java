@@ -0,0 +1,103 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.EventSummary;
+import org.example.eventregapp.model.ParticipantSummary;
+import org.example.eventregapp.model.RegistrationSummary;
+import org.example.eventregapp.util.UnitOfWork;
+import org.hibernate.Session;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the record read models shown in the table views.
+ * Each query selects only the displayed columns through a constructor expression.
+ * Errors are left to the calling controller, which reports them in its status label.
+ */
+public class ReadModelService {
+
+    /**
+     * Get all events for the admin view
+     */
+    public static List<EventSummary> getAllEvents() {
+        return UnitOfWork.read(session -> {
+            List<EventSummary> events = session.createQuery(
+                    EventSummary.SELECT + "FROM Event e ORDER BY e.eventDate ASC", EventSummary.class)
+                    .list();
+            events = withSeatsTaken(session, events);
+            OfflineRegistrationService.updateInventory(events);
+            return events;
+        });
+    }
+
+    /**
+     * Get future events that still have seats, for the user view
+     */
+    public static List<EventSummary> getUpcomingEvents() {
+        return UnitOfWork.read(session -> {
+            // An event whose count is full may still have seats in leases nobody has used
+            String query = EventSummary.SELECT +
+                    "FROM Event e WHERE e.eventDate > :today AND (e.registrationCount < e.totalSeats " +
+                    "OR EXISTS (SELECT l.leaseId FROM SeatLease l " +
+                    "WHERE l.event = e AND l.seatsUsed < l.seatsLeased)) " +
+                    "ORDER BY e.eventDate ASC";
+            List<EventSummary> events = session.createQuery(query, EventSummary.class)
+                    .setParameter("today", LocalDate.now())
+                    .list();
+
+            // Hot events keep part of their count in stripes, so re-check fullness here
+            events = withSeatsTaken(session, events);
+            OfflineRegistrationService.updateInventory(events);
+            events.removeIf(EventSummary::isFull);
+            return events;
+        });
+    }
+
+    /**
+     * Get all participants for the admin view
+     */
+    public static List<ParticipantSummary> getAllParticipants() {
+        return UnitOfWork.read(session -> session.createQuery(
+                ParticipantSummary.SELECT + "FROM Participant p ORDER BY p.fullName ASC",
+                ParticipantSummary.class)
+                .list());
+    }
+
+    /**
+     * Get the registrations of an event, newest first
+     */
+    public static List<RegistrationSummary> getEventRegistrations(Long eventId) {
+        return UnitOfWork.read(session -> {
+            String query = RegistrationSummary.SELECT +
+                    "FROM Registration r JOIN r.participant p JOIN r.event e " +
+                    "WHERE e.eventId = :eventId " +
+                    "ORDER BY r.registrationDate DESC";
+            return session.createQuery(query, RegistrationSummary.class)
+                    .setParameter("eventId", eventId)
+                    .list();
+        });
+    }
+
+    // Registration counts as participants see them: stripes added, unused leased seats taken off
+    private static List<EventSummary> withSeatsTaken(Session session, List<EventSummary> events) {
+        List<Long> hotEventIds = new ArrayList<>();
+        for (EventSummary event : events) {
+            if (event.isHot()) {
+                hotEventIds.add(event.eventId());
+            }
+        }
+
+        List<EventSummary> result = new ArrayList<>(events.size());
+        Map<Long, Integer> stripeTotals = StripedCounterService.getStripeTotals(session, hotEventIds);
+        Map<Long, Integer> unusedLeasedSeats = SeatLeaseService.getUnusedLeasedSeats(session);
+        for (EventSummary event : events) {
+            Integer striped = stripeTotals.get(event.eventId());
+            EventSummary counted = striped != null ? event.withStripedCount(striped) : event;
+            Integer unused = unusedLeasedSeats.get(event.eventId());
+            result.add(unused != null ? counted.withoutUnusedLeasedSeats(unused) : counted);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,220 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.ParticipantSummary;
+import org.example.eventregapp.util.RoaringBitmap;
+import org.example.eventregapp.util.UnitOfWork;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * In-memory bitmap index of who registered for what, for set queries across events
+ * ("registered for both A and B", "registered for nothing").
+ * Each event has a {@link RoaringBitmap} of participant IDs, and one more bitmap holds all
+ * participants. The bitmaps are loaded from the database on first use and then kept in sync
+ * by the code paths that register, unregister and create or delete participants, so a query
+ * is a few bitmap operations and never touches REGISTRATIONS.
+ */
+public class RegistrationIndexService {
+
+    // Oracle allows at most 1000 expressions in an IN list
+    private static final int EXPORT_CHUNK = 1000;
+
+    public enum Match {
+        ALL("all of"),
+        ANY("any of");
+
+        private final String label;
+
+        Match(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final Map<Long, RoaringBitmap> eventParticipants = new HashMap<>();
+    private static RoaringBitmap allParticipants = new RoaringBitmap();
+    private static boolean loaded;
+
+    public static synchronized void recordRegistration(Long eventId, Long participantId) {
+        if (loaded) {
+            eventParticipants.computeIfAbsent(eventId, id -> new RoaringBitmap()).add(toInt(participantId));
+        }
+    }
+
+    public static synchronized void recordUnregistration(Long eventId, Long participantId) {
+        RoaringBitmap participants = eventParticipants.get(eventId);
+        if (participants != null) {
+            participants.remove(toInt(participantId));
+        }
+    }
+
+    public static synchronized void addParticipant(Long participantId) {
+        if (loaded) {
+            allParticipants.add(toInt(participantId));
+        }
+    }
+
+    /**
+     * Drop a deleted participant, together with their registrations
+     */
+    public static synchronized void removeParticipant(Long participantId) {
+        int id = toInt(participantId);
+        allParticipants.remove(id);
+        for (RoaringBitmap participants : eventParticipants.values()) {
+            participants.remove(id);
+        }
+    }
+
+    public static synchronized void removeEvent(Long eventId) {
+        eventParticipants.remove(eventId);
+    }
+
+    /**
+     * Participants registered for all (or any) of the included events and for none of the
+     * excluded ones; with no included events everyone is a candidate
+     *
+     * @return a snapshot the caller may keep
+     */
+    public static synchronized RoaringBitmap query(Match match, List<Long> includedEventIds,
+            List<Long> excludedEventIds) {
+        ensureLoaded();
+        RoaringBitmap result;
+        if (includedEventIds.isEmpty()) {
+            result = allParticipants;
+        } else if (match == Match.ANY) {
+            result = union(includedEventIds);
+        } else {
+            // Smallest first, so the intermediate results shrink as fast as possible
+            List<RoaringBitmap> sets = new ArrayList<>();
+            for (Long eventId : includedEventIds) {
+                sets.add(participantsOf(eventId));
+            }
+            sets.sort(Comparator.comparingLong(RoaringBitmap::cardinality));
+            result = sets.get(0);
+            for (int i = 1; i < sets.size() && !result.isEmpty(); i++) {
+                result = result.and(sets.get(i));
+            }
+        }
+        return excludedEventIds.isEmpty() ? result.copy() : result.andNot(union(excludedEventIds));
+    }
+
+    /**
+     * Participants without any registration
+     */
+    public static synchronized RoaringBitmap getUnregisteredParticipants() {
+        ensureLoaded();
+        return query(Match.ANY, List.of(), new ArrayList<>(eventParticipants.keySet()));
+    }
+
+    /**
+     * Write the participants of a query result as CSV (ID, name, email, role)
+     *
+     * @return number of rows written
+     */
+    public static int exportParticipants(RoaringBitmap participantIds, Path file) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        participantIds.forEach(id -> ids.add((long) id));
+
+        int written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("participant_id,full_name,email,role");
+            writer.newLine();
+            for (int start = 0; start < ids.size(); start += EXPORT_CHUNK) {
+                List<ParticipantSummary> participants = getParticipants(
+                        ids.subList(start, Math.min(start + EXPORT_CHUNK, ids.size())));
+                for (ParticipantSummary participant : participants) {
+                    writer.write(participant.participantId() + "," + csv(participant.fullName()) + ","
+                            + csv(participant.email()) + "," + csv(participant.role()));
+                    writer.newLine();
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Load the participants of a query result page, in ID order
+     */
+    public static List<ParticipantSummary> getParticipants(List<Long> participantIds) {
+        if (participantIds.isEmpty()) {
+            return List.of();
+        }
+        return UnitOfWork.read(session -> session.createQuery(
+                ParticipantSummary.SELECT + "FROM Participant p WHERE p.participantId IN (:ids) " +
+                        "ORDER BY p.participantId", ParticipantSummary.class)
+                .setParameterList("ids", participantIds)
+                .list());
+    }
+
+    /**
+     * Load the index from the database if that has not happened yet
+     */
+    public static synchronized void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        RoaringBitmap participants = new RoaringBitmap();
+        Map<Long, RoaringBitmap> registrations = new HashMap<>();
+        UnitOfWork.read(session -> {
+            try (Stream<Long> ids = session.createQuery(
+                    "SELECT p.participantId FROM Participant p", Long.class).stream()) {
+                ids.forEach(id -> participants.add(toInt(id)));
+            }
+            // Only the two ID columns are read, no entities are loaded
+            try (Stream<Object[]> rows = session.createQuery(
+                    "SELECT r.event.eventId, r.participant.participantId FROM Registration r", Object[].class)
+                    .stream()) {
+                rows.forEach(row -> registrations.computeIfAbsent((Long) row[0], id -> new RoaringBitmap())
+                        .add(toInt((Long) row[1])));
+            }
+            return null;
+        });
+        allParticipants = participants;
+        eventParticipants.clear();
+        eventParticipants.putAll(registrations);
+        loaded = true;
+    }
+
+    private static RoaringBitmap union(List<Long> eventIds) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (Long eventId : eventIds) {
+            result = result.or(participantsOf(eventId));
+        }
+        return result;
+    }
+
+    private static RoaringBitmap participantsOf(Long eventId) {
+        RoaringBitmap participants = eventParticipants.get(eventId);
+        return participants != null ? participants : new RoaringBitmap();
+    }
+
+    // Participant IDs come from a sequence and stay well inside the int range
+    private static int toInt(Long participantId) {
+        return Math.toIntExact(participantId);
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
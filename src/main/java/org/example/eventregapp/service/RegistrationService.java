@@ -1,74 +1,304 @@
 package org.example.eventregapp.service;
 
+import org.example.eventregapp.diagnostics.RegistrationFlightEvent;
+import org.example.eventregapp.diagnostics.UnregistrationFlightEvent;
+import org.example.eventregapp.model.AuditEvent;
 import org.example.eventregapp.model.Event;
 import org.example.eventregapp.model.Participant;
 import org.example.eventregapp.model.Registration;
-import org.example.eventregapp.util.DatabaseUtil;
+import org.example.eventregapp.util.LongHashSet;
+import org.example.eventregapp.util.UnitOfWork;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
+/**
+ * Registration operations.
+ * Every method runs in a {@link UnitOfWork}, so calls made from inside another
+ * operation share its session and connection instead of opening their own.
+ */
 public class RegistrationService {
 
+    private static final String REGISTRATION_SUCCESSFUL = "Registration successful!";
+    private static final String UNREGISTRATION_SUCCESSFUL = "Successfully unregistered from event";
+    private static final String RATE_LIMITED = "Too many requests. Please wait a moment and try again";
+
     /**
      * Register a participant for an event with validation
      */
-    public static String registerForEvent(Participant participant, Event event) {
-        try (Session session = DatabaseUtil.getSession()) {
-            Transaction transaction = session.beginTransaction();
-
-            try {
-                // Check if user is already registered for this event
-                if (isUserRegisteredForEvent(participant, event)) {
-                    transaction.rollback();
-                    return "You are already registered for this event";
-                }
+    public static String registerForEvent(Participant participant, Long eventId) {
+        return registerForEvent(participant, eventId, null);
+    }
 
-                // Check if event is available (not full and future date)
-                if (!event.isAvailable()) {
-                    if (event.isFull()) {
-                        transaction.rollback();
-                        return "Event is full. No more registrations allowed";
-                    }
-                    if (event.getEventDate().isBefore(java.time.LocalDate.now())) {
-                        transaction.rollback();
-                        return "Cannot register for past events";
+    /**
+     * Register a participant for an event, returning the original result if a request
+     * with the same idempotency key was already handled
+     */
+    public static String registerForEvent(Participant participant, Long eventId, String idempotencyKey) {
+        RegistrationFlightEvent flightEvent = new RegistrationFlightEvent(participant.getParticipantId(), eventId, 1);
+        flightEvent.begin();
+        String result = registerWithFallback(participant, eventId, idempotencyKey);
+        flightEvent.finish(result);
+        return result;
+    }
+
+    private static String registerWithFallback(Participant participant, Long eventId, String idempotencyKey) {
+        // Already accepted offline and waiting for replay
+        if (OfflineRegistrationService.isPending(idempotencyKey)) {
+            return OfflineRegistrationService.PROVISIONAL_MESSAGE;
+        }
+
+        // A retried request gets its original result even when the caller is over its rate limit
+        String replay = IdempotencyService.findResult(idempotencyKey, IdempotencyService.REGISTER,
+                participant.getParticipantId(), eventId);
+        if (replay != null) {
+            return replay;
+        }
+        if (!RateLimitService.allowRegistration(participant.getParticipantId())) {
+            return RATE_LIMITED;
+        }
+
+        try {
+            return registerNew(participant, eventId, idempotencyKey);
+        } catch (Exception e) {
+            // While the database is unreachable, take the registration into the local journal
+            if (OfflineRegistrationService.isOutage(e)) {
+                String provisional = OfflineRegistrationService.registerProvisionally(participant, eventId,
+                        idempotencyKey);
+                if (provisional != null) {
+                    if (provisional.equals(OfflineRegistrationService.PROVISIONAL_MESSAGE)) {
+                        AuditService.record(AuditEvent.Action.REGISTERED_OFFLINE, participant.getParticipantId(),
+                                eventId, idempotencyKey);
                     }
+                    return provisional;
                 }
+            }
+            // A concurrent request with the same key may have committed first
+            replay = IdempotencyService.findResult(idempotencyKey, IdempotencyService.REGISTER,
+                    participant.getParticipantId(), eventId);
+            return replay != null ? replay : "Registration failed: " + e.getMessage();
+        }
+    }
 
-                // Create new registration
-                Registration registration = new Registration(event, participant);
-                session.save(registration);
+    /**
+     * Register against the database, throwing on database errors (also used to replay offline registrations)
+     */
+    static String registerOnline(Participant participant, Long eventId, String idempotencyKey) {
+        String replay = IdempotencyService.findResult(idempotencyKey, IdempotencyService.REGISTER,
+                participant.getParticipantId(), eventId);
+        return replay != null ? replay : registerNew(participant, eventId, idempotencyKey);
+    }
 
-                // Update event registration count
-                event.incrementRegistrationCount();
-                session.update(event);
+    // Register a request whose key has not been seen yet
+    private static String registerNew(Participant participant, Long eventId, String idempotencyKey) {
+        Long participantId = participant.getParticipantId();
+        String result = UnitOfWork.inTransaction(session -> {
+            String outcome = register(session, participant, eventId);
+            if (!UnitOfWork.isRollbackOnly()) {
+                IdempotencyService.save(session, idempotencyKey, IdempotencyService.REGISTER,
+                        participantId, eventId, outcome);
+            }
+            return outcome;
+        });
+        IdempotencyService.remember(idempotencyKey, IdempotencyService.REGISTER, participantId, eventId, result);
+        if (result.equals(REGISTRATION_SUCCESSFUL)) {
+            OutboxService.wakeUp();
+            AnalyticsService.recordRegistration(eventId);
+            RegistrationIndexService.recordRegistration(eventId, participantId);
+            AuditService.record(AuditEvent.Action.REGISTERED, participantId, eventId, null);
+        }
+        return result;
+    }
 
-                transaction.commit();
-                return "Registration successful!";
+    private static String register(Session session, Participant participant, Long eventId) {
+        // Load the current event row instead of trusting the table's copy
+        Event event = session.get(Event.class, eventId);
+        if (event == null) {
+            UnitOfWork.setRollbackOnly();
+            return "Event not found";
+        }
+
+        // With seat leases the count includes blocks reserved by nodes, so the lease decides fullness
+        boolean leased = !event.isHot() && SeatLeaseService.isEnabled();
+        if (!event.isHot() && !leased) {
+            // Locked so the fullness check holds until trg_inc_reg_count counts the seat on the INSERT
+            session.refresh(event, new LockOptions(LockMode.PESSIMISTIC_WRITE));
+        }
 
-            } catch (Exception e) {
-                transaction.rollback();
-                return "Registration failed: " + e.getMessage();
+        // Check if user is already registered for this event (joins this unit of work)
+        if (isUserRegisteredForEvent(participant, event)) {
+            UnitOfWork.setRollbackOnly();
+            return "You are already registered for this event";
+        }
+
+        // Check if event is available (not full and future date)
+        if (!event.isAvailable()) {
+            if (event.isFull() && !leased) {
+                UnitOfWork.setRollbackOnly();
+                return "Event is full. No more registrations allowed";
+            }
+            if (event.getEventDate().isBefore(java.time.LocalDate.now())) {
+                UnitOfWork.setRollbackOnly();
+                return "Cannot register for past events";
             }
+        }
+
+        // Update event registration count (striped for hot events, leased in multi-node mode)
+        Seat seat = takeSeat(session, event, participant, leased);
+        if (seat == null) {
+            UnitOfWork.setRollbackOnly();
+            return "Event is full. No more registrations allowed";
+        }
+
+        // Create new registration
+        Registration registration = new Registration(event, participant);
+        registration.setLeaseId(seat.leaseId());
+        session.save(registration);
+        ReportingService.recordRegistration(session, eventId);
+
+        // The confirmation is sent after commit by the outbox dispatcher
+        OutboxService.enqueueConfirmation(session, registration);
+
+        return REGISTRATION_SUCCESSFUL;
+    }
+
+    /**
+     * Register a participant for several events at once: either all registrations are made or none.
+     * Repeating a request with the same idempotency key returns the original result.
+     */
+    public static String registerForEvents(Participant participant, Collection<Long> eventIds,
+            String idempotencyKey) {
+        RegistrationFlightEvent flightEvent = new RegistrationFlightEvent(participant.getParticipantId(),
+                eventIds.stream().min(Long::compare).orElse(null), eventIds.size());
+        flightEvent.begin();
+        String result = registerCart(participant, eventIds, idempotencyKey);
+        flightEvent.finish(result);
+        return result;
+    }
+
+    private static String registerCart(Participant participant, Collection<Long> eventIds, String idempotencyKey) {
+        Long participantId = participant.getParticipantId();
+        // Canonical order: every cart takes its event locks in ascending ID order, so two carts cannot deadlock
+        List<Long> sortedIds = new ArrayList<>(new TreeSet<>(eventIds));
+        if (sortedIds.isEmpty()) {
+            return "Please select at least one event";
+        }
+
+        // The key is stored against the first event of the cart
+        Long keyEventId = sortedIds.get(0);
+        String replay = IdempotencyService.findResult(idempotencyKey, IdempotencyService.REGISTER_CART,
+                participantId, keyEventId);
+        if (replay != null) {
+            return replay;
+        }
+        if (!RateLimitService.allowRegistration(participantId)) {
+            return RATE_LIMITED;
+        }
+
+        try {
+            String result = UnitOfWork.inTransaction(session -> {
+                String outcome = registerAll(session, participant, sortedIds);
+                if (!UnitOfWork.isRollbackOnly()) {
+                    IdempotencyService.save(session, idempotencyKey, IdempotencyService.REGISTER_CART,
+                            participantId, keyEventId, outcome);
+                }
+                return outcome;
+            });
+            IdempotencyService.remember(idempotencyKey, IdempotencyService.REGISTER_CART, participantId,
+                    keyEventId, result);
+            if (result.startsWith(REGISTRATION_SUCCESSFUL)) {
+                OutboxService.wakeUp();
+                for (Long eventId : sortedIds) {
+                    AnalyticsService.recordRegistration(eventId);
+                    RegistrationIndexService.recordRegistration(eventId, participantId);
+                    AuditService.record(AuditEvent.Action.REGISTERED, participantId, eventId, "cart");
+                }
+            }
+            return result;
         } catch (Exception e) {
-            return "Database error: " + e.getMessage();
+            replay = IdempotencyService.findResult(idempotencyKey, IdempotencyService.REGISTER_CART,
+                    participantId, keyEventId);
+            return replay != null ? replay : "Registration failed: " + e.getMessage();
+        }
+    }
+
+    private static String registerAll(Session session, Participant participant, List<Long> sortedIds) {
+        // All duplicates in one query
+        List<String> alreadyRegistered = session.createQuery(
+                "SELECT r.event.eventName FROM Registration r " +
+                        "WHERE r.participant.participantId = :participantId AND r.event.eventId IN (:eventIds)",
+                String.class)
+                .setParameter("participantId", participant.getParticipantId())
+                .setParameterList("eventIds", sortedIds)
+                .list();
+        if (!alreadyRegistered.isEmpty()) {
+            UnitOfWork.setRollbackOnly();
+            return "You are already registered for " + String.join(", ", alreadyRegistered);
+        }
+
+        boolean leasing = SeatLeaseService.isEnabled();
+        List<Registration> registrations = new ArrayList<>(sortedIds.size());
+        for (Long eventId : sortedIds) {
+            Event event = session.get(Event.class, eventId);
+            if (event == null) {
+                UnitOfWork.setRollbackOnly();
+                return "Event not found";
+            }
+            // Hot events are counted on their stripes and leased events by conditional updates on the
+            // lease; only the remaining rows are locked here, in ID order
+            boolean leased = !event.isHot() && leasing;
+            if (!event.isHot() && !leased) {
+                session.refresh(event, new LockOptions(LockMode.PESSIMISTIC_WRITE));
+            }
+            if (event.getEventDate().isBefore(java.time.LocalDate.now())) {
+                UnitOfWork.setRollbackOnly();
+                return "Cannot register for past events: " + event.getEventName();
+            }
+            if (event.isFull() && !leased) {
+                UnitOfWork.setRollbackOnly();
+                return event.getEventName() + " is full. No registrations were made";
+            }
+
+            Seat seat = takeSeat(session, event, participant, leased);
+            if (seat == null) {
+                UnitOfWork.setRollbackOnly();
+                return event.getEventName() + " is full. No registrations were made";
+            }
+            Registration registration = new Registration(event, participant);
+            registration.setLeaseId(seat.leaseId());
+            registrations.add(registration);
         }
+
+        // Saved together so the inserts go out as one JDBC batch at flush
+        for (Registration registration : registrations) {
+            session.save(registration);
+            ReportingService.recordRegistration(session, registration.getEvent().getEventId());
+            OutboxService.enqueueConfirmation(session, registration);
+        }
+        return REGISTRATION_SUCCESSFUL + " (" + registrations.size() + (registrations.size() == 1 ? " event)" : " events)");
     }
 
     /**
      * Check if user is already registered for an event
      */
     public static boolean isUserRegisteredForEvent(Participant participant, Event event) {
-        try (Session session = DatabaseUtil.getSession()) {
-            String query = "FROM Registration r WHERE r.participant = :participant AND r.event = :event";
-            List<Registration> registrations = session.createQuery(query, Registration.class)
-                    .setParameter("participant", participant)
-                    .setParameter("event", event)
-                    .list();
-
-            return !registrations.isEmpty();
+        try {
+            return UnitOfWork.read(session -> {
+                String query = "SELECT COUNT(r) FROM Registration r " +
+                        "WHERE r.participant = :participant AND r.event = :event";
+                Long count = session.createQuery(query, Long.class)
+                        .setParameter("participant", participant)
+                        .setParameter("event", event)
+                        .uniqueResult();
+
+                return count != null && count > 0;
+            });
         } catch (Exception e) {
             return false;
         }
@@ -77,57 +307,104 @@ public class RegistrationService {
     /**
      * Remove a registration (unregister from event)
      */
-    public static String removeRegistration(Participant participant, Event event) {
-        try (Session session = DatabaseUtil.getSession()) {
-            Transaction transaction = session.beginTransaction();
+    public static String removeRegistration(Participant participant, Long eventId) {
+        return removeRegistration(participant, eventId, null);
+    }
 
-            try {
-                String query = "FROM Registration r WHERE r.participant = :participant AND r.event = :event";
-                List<Registration> registrations = session.createQuery(query, Registration.class)
-                        .setParameter("participant", participant)
-                        .setParameter("event", event)
-                        .list();
+    /**
+     * Remove a registration, returning the original result if a request with the
+     * same idempotency key was already handled
+     */
+    public static String removeRegistration(Participant participant, Long eventId, String idempotencyKey) {
+        UnregistrationFlightEvent flightEvent = new UnregistrationFlightEvent(participant.getParticipantId(), eventId,
+                null);
+        flightEvent.begin();
+        String result = unregisterChecked(participant, eventId, idempotencyKey);
+        flightEvent.finish(result);
+        return result;
+    }
 
-                if (registrations.isEmpty()) {
-                    transaction.rollback();
-                    return "No registration found for this event";
-                }
+    private static String unregisterChecked(Participant participant, Long eventId, String idempotencyKey) {
+        Long participantId = participant.getParticipantId();
+        String replay = IdempotencyService.findResult(idempotencyKey, IdempotencyService.UNREGISTER,
+                participantId, eventId);
+        if (replay != null) {
+            return replay;
+        }
+        if (!RateLimitService.allowRegistration(participantId)) {
+            return RATE_LIMITED;
+        }
 
-                // Delete all registrations (should be only one due to unique constraint)
-                for (Registration registration : registrations) {
-                    session.delete(registration);
+        try {
+            String result = UnitOfWork.inTransaction(session -> {
+                String outcome = unregister(session, participant, eventId);
+                if (!UnitOfWork.isRollbackOnly()) {
+                    IdempotencyService.save(session, idempotencyKey, IdempotencyService.UNREGISTER,
+                            participantId, eventId, outcome);
                 }
+                return outcome;
+            });
+            IdempotencyService.remember(idempotencyKey, IdempotencyService.UNREGISTER, participantId, eventId,
+                    result);
+            if (result.equals(UNREGISTRATION_SUCCESSFUL)) {
+                AnalyticsService.recordUnregistration(eventId);
+                RegistrationIndexService.recordUnregistration(eventId, participantId);
+                AuditService.record(AuditEvent.Action.UNREGISTERED, participantId, eventId, null);
+            }
+            return result;
+        } catch (Exception e) {
+            replay = IdempotencyService.findResult(idempotencyKey, IdempotencyService.UNREGISTER,
+                    participantId, eventId);
+            return replay != null ? replay : "Failed to unregister: " + e.getMessage();
+        }
+    }
 
-                // Update event registration count
-                event.decrementRegistrationCount();
-                session.update(event);
+    private static String unregister(Session session, Participant participant, Long eventId) {
+        Event event = session.get(Event.class, eventId);
+        if (event == null) {
+            UnitOfWork.setRollbackOnly();
+            return "Event not found";
+        }
 
-                transaction.commit();
-                return "Successfully unregistered from event";
+        String query = "FROM Registration r WHERE r.participant = :participant AND r.event = :event";
+        List<Registration> registrations = session.createQuery(query, Registration.class)
+                .setParameter("participant", participant)
+                .setParameter("event", event)
+                .list();
 
-            } catch (Exception e) {
-                transaction.rollback();
-                return "Failed to unregister: " + e.getMessage();
-            }
-        } catch (Exception e) {
-            return "Database error: " + e.getMessage();
+        if (registrations.isEmpty()) {
+            UnitOfWork.setRollbackOnly();
+            return "No registration found for this event";
         }
+
+        // Delete all registrations (should be only one due to unique constraint)
+        for (Registration registration : registrations) {
+            session.delete(registration);
+        }
+
+        // Update event registration count
+        releaseSeat(session, event, participant);
+        ReportingService.recordUnregistration(session, eventId);
+
+        return UNREGISTRATION_SUCCESSFUL;
     }
 
     /**
      * Get all registrations for a specific event
      */
     public static List<Registration> getEventRegistrations(Event event) {
-        try (Session session = DatabaseUtil.getSession()) {
-            // Use JOIN FETCH to eagerly load participant and event data
-            String query = "SELECT r FROM Registration r " +
-                    "JOIN FETCH r.participant p " +
-                    "JOIN FETCH r.event e " +
-                    "WHERE r.event = :event " +
-                    "ORDER BY r.registrationDate DESC";
-            return session.createQuery(query, Registration.class)
-                    .setParameter("event", event)
-                    .list();
+        try {
+            return UnitOfWork.read(session -> {
+                // Use JOIN FETCH to eagerly load participant and event data
+                String query = "SELECT r FROM Registration r " +
+                        "JOIN FETCH r.participant p " +
+                        "JOIN FETCH r.event e " +
+                        "WHERE r.event = :event " +
+                        "ORDER BY r.registrationDate DESC";
+                return session.createQuery(query, Registration.class)
+                        .setParameter("event", event)
+                        .list();
+            });
         } catch (Exception e) {
             System.err.println("Error loading event registrations: " + e.getMessage());
             e.printStackTrace();
@@ -139,27 +416,75 @@ public class RegistrationService {
      * Get all registrations for a specific participant
      */
     public static List<Registration> getParticipantRegistrations(Participant participant) {
-        try (Session session = DatabaseUtil.getSession()) {
-            String query = "FROM Registration r WHERE r.participant = :participant ORDER BY r.registrationDate DESC";
-            return session.createQuery(query, Registration.class)
-                    .setParameter("participant", participant)
-                    .list();
+        try {
+            return UnitOfWork.read(session -> {
+                String query = "FROM Registration r WHERE r.participant = :participant " +
+                        "ORDER BY r.registrationDate DESC";
+                return session.createQuery(query, Registration.class)
+                        .setParameter("participant", participant)
+                        .list();
+            });
         } catch (Exception e) {
             return List.of();
         }
     }
 
+    /**
+     * Get the IDs of the events a participant is registered for
+     */
+    public static List<Long> getRegisteredEventIds(Participant participant) {
+        try {
+            return UnitOfWork.read(session -> {
+                String query = "SELECT r.event.eventId FROM Registration r WHERE r.participant = :participant";
+                return session.createQuery(query, Long.class)
+                        .setParameter("participant", participant)
+                        .list();
+            });
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Load the IDs of the events a participant is registered for into a primitive set, e.g. once at login.
+     * Only the event ID column is read; no registrations are loaded.
+     */
+    public static LongHashSet getRegisteredEventIdSet(Participant participant) {
+        try {
+            return UnitOfWork.read(session -> {
+                LongHashSet eventIds = new LongHashSet();
+                try (Stream<Long> rows = session.createQuery(
+                        "SELECT r.event.eventId FROM Registration r WHERE r.participant = :participant", Long.class)
+                        .setParameter("participant", participant)
+                        .stream()) {
+                    rows.forEach(eventIds::add);
+                }
+                return eventIds;
+            });
+        } catch (Exception e) {
+            return new LongHashSet();
+        }
+    }
+
     /**
      * Remove a specific registration by ID (admin function)
      */
     public static String removeRegistrationById(Long registrationId) {
-        try (Session session = DatabaseUtil.getSession()) {
-            Transaction transaction = session.beginTransaction();
+        UnregistrationFlightEvent flightEvent = new UnregistrationFlightEvent(null, null, registrationId);
+        flightEvent.begin();
+        String result = removeById(registrationId);
+        flightEvent.finish(result);
+        return result;
+    }
 
-            try {
+    private static String removeById(Long registrationId) {
+        // Participant and event of the removed registration, for the audit trail
+        Long[] removed = new Long[2];
+        try {
+            String result = UnitOfWork.inTransaction(session -> {
                 Registration registration = session.get(Registration.class, registrationId);
                 if (registration == null) {
-                    transaction.rollback();
+                    UnitOfWork.setRollbackOnly();
                     return "Registration not found";
                 }
 
@@ -169,18 +494,53 @@ public class RegistrationService {
                 session.delete(registration);
 
                 // Update event registration count
-                event.decrementRegistrationCount();
-                session.update(event);
+                releaseSeat(session, event, registration.getParticipant());
+                ReportingService.recordUnregistration(session, event.getEventId());
 
-                transaction.commit();
+                removed[0] = registration.getParticipant().getParticipantId();
+                removed[1] = event.getEventId();
                 return "Registration removed successfully";
-
-            } catch (Exception e) {
-                transaction.rollback();
-                return "Failed to remove registration: " + e.getMessage();
+            });
+            if (removed[0] != null) {
+                AnalyticsService.recordUnregistration(removed[1]);
+                RegistrationIndexService.recordUnregistration(removed[1], removed[0]);
+                AuditService.record(AuditEvent.Action.REGISTRATION_REMOVED, removed[0], removed[1],
+                        "registration " + registrationId);
             }
+            return result;
         } catch (Exception e) {
-            return "Database error: " + e.getMessage();
+            return "Failed to remove registration: " + e.getMessage();
         }
     }
+
+    /**
+     * Take a seat of an event in the current unit of work
+     *
+     * @return the seat, or null if the event is full
+     */
+    private static Seat takeSeat(Session session, Event event, Participant participant, boolean leased) {
+        if (event.isHot()) {
+            return StripedCounterService.tryIncrement(session, event, participant) ? new Seat(null) : null;
+        }
+        if (leased) {
+            Long leaseId = SeatLeaseService.allocateSeat(session, event);
+            return leaseId != null ? new Seat(leaseId) : null;
+        }
+        // Counted by trg_inc_reg_count on the INSERT; writing the count read here would add the seat twice
+        // and overwrite seats counted by other transactions
+        return new Seat(null);
+    }
+
+    private static void releaseSeat(Session session, Event event, Participant participant) {
+        // Other events are given their seat back by trg_dec_reg_count on the DELETE. The row was read
+        // without a lock, so writing the count from it would overwrite lease blocks taken or
+        // released by other nodes in the meantime.
+        if (event.isHot()) {
+            StripedCounterService.decrement(session, event, participant);
+        }
+    }
+
+    // Seat taken for a registration, with the lease it came from in multi-node mode
+    private record Seat(Long leaseId) {
+    }
 }
@@ -0,0 +1,279 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.DailyEventRegistrations;
+import org.example.eventregapp.model.DailyRegistrationReport;
+import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.ParticipantRoleCount;
+import org.example.eventregapp.model.ReportingChange;
+import org.example.eventregapp.util.UnitOfWork;
+import org.hibernate.LockMode;
+import org.hibernate.Session;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reporting over incrementally maintained aggregates ("registrations per day per event",
+ * "participants per role"). Write paths append to REPORTING_CHANGES in their own transaction;
+ * a background applier folds the log into DAILY_EVENT_REGISTRATIONS and PARTICIPANT_ROLE_COUNTS
+ * in micro-batches. Reports read only the aggregate tables, so their cost does not grow with
+ * the registration history. They trail the writes by at most one apply interval.
+ */
+public class ReportingService {
+
+    private static final long APPLY_INTERVAL_MILLIS = Long.getLong("eventreg.reporting.applyMillis", 2000);
+    private static final int BATCH_SIZE = 500;
+
+    private static ScheduledExecutorService applier;
+
+    /**
+     * Log a registration in the caller's transaction
+     */
+    public static void recordRegistration(Session session, Long eventId) {
+        session.save(new ReportingChange(session.load(Event.class, eventId), null, LocalDate.now(), 1));
+    }
+
+    /**
+     * Log an unregistration or admin removal in the caller's transaction
+     */
+    public static void recordUnregistration(Session session, Long eventId) {
+        session.save(new ReportingChange(session.load(Event.class, eventId), null, LocalDate.now(), -1));
+    }
+
+    /**
+     * Log a new participant in the caller's transaction
+     */
+    public static void recordParticipantAdded(Session session, String role) {
+        session.save(new ReportingChange(null, role, LocalDate.now(), 1));
+    }
+
+    /**
+     * Log a deleted participant, and the registrations deleted with it, in the caller's transaction
+     */
+    public static void recordParticipantRemoved(Session session, String role, List<Long> registeredEventIds) {
+        session.save(new ReportingChange(null, role, LocalDate.now(), -1));
+        for (Long eventId : registeredEventIds) {
+            recordUnregistration(session, eventId);
+        }
+    }
+
+    /**
+     * Start folding the change log into the aggregates, backfilling them first if they are empty
+     */
+    public static synchronized void start() {
+        if (applier != null) {
+            return;
+        }
+        try {
+            boolean empty = UnitOfWork.read(session -> session.createQuery(
+                    "SELECT COUNT(c) FROM ParticipantRoleCount c", Long.class).uniqueResult() == 0);
+            if (empty) {
+                rebuildAggregates();
+            }
+        } catch (Exception e) {
+            System.err.println("Error checking reporting aggregates: " + e.getMessage());
+        }
+
+        applier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reporting-applier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        applier.scheduleWithFixedDelay(() -> {
+            try {
+                // Keep going while full batches come back, so a backlog drains quickly
+                while (applyBatch() == BATCH_SIZE) {
+                    Thread.yield();
+                }
+            } catch (Exception e) {
+                System.err.println("Error applying reporting changes: " + e.getMessage());
+            }
+        }, APPLY_INTERVAL_MILLIS, APPLY_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Apply what is left in the change log and stop the applier (called at shutdown)
+     */
+    public static synchronized void stop() {
+        if (applier == null) {
+            return;
+        }
+        applier.shutdownNow();
+        applier = null;
+        try {
+            while (applyBatch() == BATCH_SIZE) {
+                Thread.yield();
+            }
+        } catch (Exception e) {
+            System.err.println("Error applying reporting changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fold the oldest entries of the change log into the aggregates
+     *
+     * @return number of entries applied
+     */
+    public static int applyBatch() {
+        return UnitOfWork.inTransaction(session -> {
+            Long firstId = session.createQuery("SELECT MIN(c.changeId) FROM ReportingChange c", Long.class)
+                    .uniqueResult();
+            if (firstId == null) {
+                return 0;
+            }
+
+            // An ID range instead of a row limit, since Oracle cannot lock a row-limited query;
+            // the lock keeps appliers on other nodes from folding the same entries twice
+            List<ReportingChange> changes = session.createQuery(
+                    "FROM ReportingChange c WHERE c.changeId < :endId", ReportingChange.class)
+                    .setParameter("endId", firstId + BATCH_SIZE)
+                    .setLockMode("c", LockMode.PESSIMISTIC_WRITE)
+                    .list();
+            if (changes.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, Map<LocalDate, int[]>> daily = new HashMap<>();
+            Map<String, Long> roles = new HashMap<>();
+            List<Long> changeIds = new ArrayList<>(changes.size());
+            for (ReportingChange change : changes) {
+                changeIds.add(change.getChangeId());
+                if (change.getEvent() != null) {
+                    int[] counts = daily.computeIfAbsent(change.getEvent().getEventId(), id -> new HashMap<>())
+                            .computeIfAbsent(change.getChangeDate(), date -> new int[2]);
+                    counts[change.getDelta() > 0 ? 0 : 1] += Math.abs(change.getDelta());
+                } else if (change.getRole() != null) {
+                    roles.merge(change.getRole(), (long) change.getDelta(), Long::sum);
+                }
+            }
+
+            for (Map.Entry<Long, Map<LocalDate, int[]>> event : daily.entrySet()) {
+                for (Map.Entry<LocalDate, int[]> day : event.getValue().entrySet()) {
+                    addDaily(session, event.getKey(), day.getKey(), day.getValue()[0], day.getValue()[1]);
+                }
+            }
+            for (Map.Entry<String, Long> role : roles.entrySet()) {
+                addRoleCount(session, role.getKey(), role.getValue());
+            }
+
+            session.createQuery("DELETE FROM ReportingChange c WHERE c.changeId IN (:ids)")
+                    .setParameterList("ids", changeIds)
+                    .executeUpdate();
+            return changes.size();
+        });
+    }
+
+    /**
+     * Recompute the aggregates from PARTICIPANTS and REGISTRATIONS and clear the change log.
+     * This is the only operation that reads the raw tables; unregistrations before the
+     * rebuild are not recoverable and count as zero.
+     */
+    public static void rebuildAggregates() {
+        UnitOfWork.inTransaction(session -> {
+            session.createQuery("DELETE FROM ReportingChange").executeUpdate();
+            session.createQuery("DELETE FROM DailyEventRegistrations").executeUpdate();
+            session.createQuery("DELETE FROM ParticipantRoleCount").executeUpdate();
+
+            List<Object[]> roles = session.createQuery(
+                    "SELECT p.role, COUNT(p) FROM Participant p GROUP BY p.role", Object[].class)
+                    .list();
+            for (Object[] row : roles) {
+                session.save(new ParticipantRoleCount((String) row[0], (Long) row[1]));
+            }
+
+            // Day grouping is done here rather than in HQL, which has no portable date truncation
+            Map<Long, Map<LocalDate, Integer>> daily = new HashMap<>();
+            try (Stream<Object[]> rows = session.createQuery(
+                    "SELECT r.event.eventId, r.registrationDate FROM Registration r", Object[].class).stream()) {
+                rows.forEach(row -> daily.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                        .merge(((LocalDateTime) row[1]).toLocalDate(), 1, Integer::sum));
+            }
+            for (Map.Entry<Long, Map<LocalDate, Integer>> event : daily.entrySet()) {
+                Event eventRef = session.load(Event.class, event.getKey());
+                for (Map.Entry<LocalDate, Integer> day : event.getValue().entrySet()) {
+                    session.save(new DailyEventRegistrations(eventRef, day.getKey(), day.getValue(), 0));
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Registrations per day of one event between two dates (inclusive)
+     */
+    public static List<DailyRegistrationReport> getDailyRegistrations(Long eventId, LocalDate from, LocalDate to) {
+        return UnitOfWork.read(session -> session.createQuery(
+                DailyRegistrationReport.SELECT + "FROM DailyEventRegistrations d JOIN d.event e " +
+                        "WHERE e.eventId = :eventId AND d.statDate BETWEEN :from AND :to ORDER BY d.statDate",
+                DailyRegistrationReport.class)
+                .setParameter("eventId", eventId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .list());
+    }
+
+    /**
+     * Registrations per day per event between two dates (inclusive)
+     */
+    public static List<DailyRegistrationReport> getDailyRegistrations(LocalDate from, LocalDate to) {
+        return UnitOfWork.read(session -> session.createQuery(
+                DailyRegistrationReport.SELECT + "FROM DailyEventRegistrations d JOIN d.event e " +
+                        "WHERE d.statDate BETWEEN :from AND :to ORDER BY d.statDate, e.eventName",
+                DailyRegistrationReport.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .list());
+    }
+
+    /**
+     * Number of participants per role
+     */
+    public static Map<String, Long> getParticipantsPerRole() {
+        return UnitOfWork.read(session -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (ParticipantRoleCount count : session.createQuery(
+                    "FROM ParticipantRoleCount c ORDER BY c.role", ParticipantRoleCount.class).list()) {
+                counts.put(count.getRole(), count.getParticipantCount());
+            }
+            return counts;
+        });
+    }
+
+    private static void addDaily(Session session, Long eventId, LocalDate date, int registrations,
+            int unregistrations) {
+        int updated = session.createQuery(
+                "UPDATE DailyEventRegistrations d SET d.registrations = d.registrations + :registrations, " +
+                        "d.unregistrations = d.unregistrations + :unregistrations " +
+                        "WHERE d.event.eventId = :eventId AND d.statDate = :date")
+                .setParameter("registrations", registrations)
+                .setParameter("unregistrations", unregistrations)
+                .setParameter("eventId", eventId)
+                .setParameter("date", date)
+                .executeUpdate();
+        if (updated == 0) {
+            // A concurrent insert by another node fails the batch on the unique key; it is retried next round
+            session.save(new DailyEventRegistrations(session.load(Event.class, eventId), date, registrations,
+                    unregistrations));
+        }
+    }
+
+    private static void addRoleCount(Session session, String role, long delta) {
+        int updated = session.createQuery(
+                "UPDATE ParticipantRoleCount c SET c.participantCount = c.participantCount + :delta WHERE c.role = :role")
+                .setParameter("delta", delta)
+                .setParameter("role", role)
+                .executeUpdate();
+        if (updated == 0) {
+            session.save(new ParticipantRoleCount(role, Math.max(delta, 0)));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.util.TrigramIndex;
+import org.example.eventregapp.util.UnitOfWork;
+
+import java.util.List;
+
+/**
+ * In-memory search over participants (name, email) and events (name) for admin lookup.
+ * The indexes are loaded from the database on first use and then kept in sync by the
+ * code paths that create, update or delete participants and events.
+ */
+public class SearchService {
+
+    public static final int DEFAULT_LIMIT = 200;
+
+    private static final TrigramIndex<Long> participantIndex = new TrigramIndex<>();
+    private static final TrigramIndex<Long> eventIndex = new TrigramIndex<>();
+    private static volatile boolean loaded;
+
+    /**
+     * Search participants by full name or email
+     *
+     * @return matching participant IDs, best matches first
+     */
+    public static List<Long> searchParticipants(String query) {
+        ensureLoaded();
+        return participantIndex.search(query, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Search events by name
+     *
+     * @return matching event IDs, best matches first
+     */
+    public static List<Long> searchEvents(String query) {
+        ensureLoaded();
+        return eventIndex.search(query, DEFAULT_LIMIT);
+    }
+
+    public static void indexParticipant(Participant participant) {
+        if (loaded && participant.getParticipantId() != null) {
+            participantIndex.put(participant.getParticipantId(), participant.getFullName(), participant.getEmail());
+        }
+    }
+
+    public static void removeParticipant(Long participantId) {
+        participantIndex.remove(participantId);
+    }
+
+    public static void indexEvent(Event event) {
+        if (loaded && event.getEventId() != null) {
+            eventIndex.put(event.getEventId(), event.getEventName());
+        }
+    }
+
+    public static void removeEvent(Long eventId) {
+        eventIndex.remove(eventId);
+    }
+
+    /**
+     * Load both indexes from the database if that has not happened yet
+     */
+    public static synchronized void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        try {
+            UnitOfWork.read(session -> {
+                // Only the searchable columns are selected, no entities are loaded
+                List<Object[]> participants = session.createQuery(
+                        "SELECT p.participantId, p.fullName, p.email FROM Participant p", Object[].class)
+                        .list();
+                for (Object[] row : participants) {
+                    participantIndex.put((Long) row[0], (String) row[1], (String) row[2]);
+                }
+
+                List<Object[]> events = session.createQuery(
+                        "SELECT e.eventId, e.eventName FROM Event e", Object[].class)
+                        .list();
+                for (Object[] row : events) {
+                    eventIndex.put((Long) row[0], (String) row[1]);
+                }
+                return null;
+            });
+            loaded = true;
+        } catch (Exception e) {
+            System.err.println("Error loading search index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.SeatLease;
+import org.example.eventregapp.util.UnitOfWork;
+import org.hibernate.LockMode;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-node seat allocation through leased seat blocks.
+ * Enabled with {@code -Deventreg.seatLeases=true}. A node reserves a block of seats with one
+ * conditional update of the EVENTS row and then hands them out from its own SEAT_LEASES row,
+ * so nodes do not contend on the event. Unused seats go back to the event when the lease is
+ * released at shutdown, when it runs out, or when another node reclaims it after it expired.
+ */
+public class SeatLeaseService {
+
+    public static final int BLOCK_SIZE = Integer.getInteger("eventreg.seatLeases.blockSize", 10);
+    private static final long LEASE_SECONDS = Long.getLong("eventreg.seatLeases.ttlSeconds", 300);
+
+    // Expired leases are reclaimed only after this grace period, to allow for clock skew between nodes
+    private static final long RECLAIM_GRACE_SECONDS = 30;
+
+    private static final boolean enabled = Boolean.getBoolean("eventreg.seatLeases");
+    private static final String nodeId = System.getProperty("eventreg.nodeId",
+            "node-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8));
+
+    // Event ID -> lease this node is currently serving seats from
+    private static final Map<Long, Long> activeLeases = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService reaper;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Take one seat of the event from this node's lease, leasing a new block if needed
+     *
+     * @return ID of the lease the seat came from, or null if the event is full
+     */
+    public static Long allocateSeat(Session session, Event event) {
+        ensureReaper();
+        Long eventId = event.getEventId();
+
+        Long leaseId = activeLeases.get(eventId);
+        if (leaseId != null) {
+            if (consume(session, leaseId)) {
+                return leaseId;
+            }
+            // Used up or expired: give back what is left before leasing the next block
+            activeLeases.remove(eventId, leaseId);
+            release(session, leaseId);
+        }
+
+        reclaimExpired(session, eventId);
+        Long newLeaseId = leaseBlock(session, event);
+        if (newLeaseId == null) {
+            return null;
+        }
+        activeLeases.put(eventId, newLeaseId);
+        return consume(session, newLeaseId) ? newLeaseId : null;
+    }
+
+    /**
+     * Get the seats that nodes have leased but not handed out yet, per event.
+     * They are included in EVENTS.registration_count although nobody registered for them.
+     */
+    public static Map<Long, Integer> getUnusedLeasedSeats(Session session) {
+        Map<Long, Integer> unused = new HashMap<>();
+        List<Object[]> rows = session.createQuery(
+                "SELECT l.event.eventId, SUM(l.seatsLeased - l.seatsUsed) FROM SeatLease l " +
+                        "WHERE l.seatsUsed < l.seatsLeased GROUP BY l.event.eventId",
+                Object[].class)
+                .list();
+        for (Object[] row : rows) {
+            unused.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return unused;
+    }
+
+    /**
+     * Forget the lease of a deleted event; its SEAT_LEASES row was removed with the event
+     */
+    public static void forgetEvent(Long eventId) {
+        activeLeases.remove(eventId);
+    }
+
+    /**
+     * Return the unused seats of all leases held by this node (called at shutdown)
+     */
+    public static void releaseAll() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+        if (activeLeases.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> leaseIds = new ArrayList<>(activeLeases.values());
+            UnitOfWork.inTransaction(session -> {
+                for (Long leaseId : leaseIds) {
+                    release(session, leaseId);
+                }
+                return null;
+            });
+            activeLeases.clear();
+        } catch (Exception e) {
+            System.err.println("Error releasing seat leases: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Return the unused seats of leases that expired, e.g. because their node crashed
+     *
+     * @param eventId event to check, or null for all events
+     */
+    public static void reclaimExpired(Session session, Long eventId) {
+        String query = "SELECT l.leaseId FROM SeatLease l WHERE l.expiresAt < :cutoff" +
+                (eventId != null ? " AND l.event.eventId = :eventId" : "");
+        Query<Long> leaseQuery = session.createQuery(query, Long.class)
+                .setParameter("cutoff", LocalDateTime.now().minusSeconds(RECLAIM_GRACE_SECONDS));
+        if (eventId != null) {
+            leaseQuery.setParameter("eventId", eventId);
+        }
+        for (Long leaseId : leaseQuery.list()) {
+            release(session, leaseId);
+        }
+    }
+
+    private static Long leaseBlock(Session session, Event event) {
+        int block = BLOCK_SIZE;
+        while (block > 0) {
+            // One conditional update reserves the whole block on the EVENTS row
+            int updated = session.createQuery(
+                    "UPDATE Event e SET e.registrationCount = e.registrationCount + :block " +
+                            "WHERE e.eventId = :eventId AND e.registrationCount + :block <= e.totalSeats")
+                    .setParameter("block", block)
+                    .setParameter("eventId", event.getEventId())
+                    .executeUpdate();
+            if (updated == 1) {
+                SeatLease lease = new SeatLease(event, nodeId, block, LocalDateTime.now().plusSeconds(LEASE_SECONDS));
+                session.save(lease);
+                return lease.getLeaseId();
+            }
+
+            // Fewer seats left than a full block: lease what remains
+            Integer remaining = session.createQuery(
+                    "SELECT e.totalSeats - e.registrationCount FROM Event e WHERE e.eventId = :eventId", Integer.class)
+                    .setParameter("eventId", event.getEventId())
+                    .uniqueResult();
+            if (remaining == null || remaining <= 0) {
+                return null;
+            }
+            block = Math.min(block - 1, remaining);
+        }
+        return null;
+    }
+
+    // Take one seat from the lease; only touches this node's own SEAT_LEASES row
+    private static boolean consume(Session session, Long leaseId) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = session.createQuery(
+                "UPDATE SeatLease l SET l.seatsUsed = l.seatsUsed + 1, l.expiresAt = :renewed " +
+                        "WHERE l.leaseId = :leaseId AND l.seatsUsed < l.seatsLeased AND l.expiresAt > :now")
+                .setParameter("renewed", now.plusSeconds(LEASE_SECONDS))
+                .setParameter("leaseId", leaseId)
+                .setParameter("now", now)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+    private static void release(Session session, Long leaseId) {
+        // Locking the lease row makes a release and a concurrent seat allocation exclusive
+        SeatLease lease = session.get(SeatLease.class, leaseId, LockMode.PESSIMISTIC_WRITE);
+        if (lease == null) {
+            return;
+        }
+        int unused = lease.getUnusedSeats();
+        if (unused > 0) {
+            session.createQuery(
+                    "UPDATE Event e SET e.registrationCount = e.registrationCount - :unused WHERE e.eventId = :eventId")
+                    .setParameter("unused", unused)
+                    .setParameter("eventId", lease.getEvent().getEventId())
+                    .executeUpdate();
+        }
+        session.delete(lease);
+    }
+
+    private static synchronized void ensureReaper() {
+        if (reaper != null) {
+            return;
+        }
+        reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-lease-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(LEASE_SECONDS / 2, 1);
+        reaper.scheduleWithFixedDelay(() -> {
+            try {
+                UnitOfWork.inTransaction(session -> {
+                    reclaimExpired(session, null);
+                    return null;
+                });
+            } catch (Exception e) {
+                System.err.println("Error reclaiming expired seat leases: " + e.getMessage());
+            }
+        }, period, period, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.eventregapp.service;
+
+import org.example.eventregapp.model.Event;
+import org.example.eventregapp.model.EventCounterStripe;
+import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.util.UnitOfWork;
+import org.hibernate.LockMode;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Striped registration counters for hot events.
+ * Each hot event has STRIPE_COUNT sub-counter rows with their own seat quota, so
+ * concurrent registrations update different rows instead of the single EVENTS row.
+ * When a stripe runs out of quota, the remaining seats are redistributed across all
+ * stripes, which keeps the total capacity exact.
+ */
+public class StripedCounterService {
+
+    public static final int STRIPE_COUNT = 8;
+
+    /**
+     * Mark an event as hot and spread its remaining seats over the stripes
+     */
+    public static String enableStriping(Long eventId) {
+        try {
+            return UnitOfWork.inTransaction(session -> {
+                Event event = session.get(Event.class, eventId, LockMode.PESSIMISTIC_WRITE);
+                if (event == null) {
+                    UnitOfWork.setRollbackOnly();
+                    return "Event not found";
+                }
+                if (event.isHot()) {
+                    UnitOfWork.setRollbackOnly();
+                    return "Event is already marked as hot";
+                }
+
+                int remaining = Math.max(0, event.getTotalSeats() - event.getRegistrationCount());
+                for (int i = 0; i < STRIPE_COUNT; i++) {
+                    session.save(new EventCounterStripe(event, i, shareOf(remaining, i)));
+                }
+
+                event.setHot(true);
+                return "Event marked as hot";
+            });
+        } catch (Exception e) {
+            return "Failed to mark event as hot: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Fold the stripe counters back into the EVENTS row and remove the stripes
+     */
+    public static String disableStriping(Long eventId) {
+        try {
+            return UnitOfWork.inTransaction(session -> {
+                Event event = session.get(Event.class, eventId, LockMode.PESSIMISTIC_WRITE);
+                if (event == null) {
+                    UnitOfWork.setRollbackOnly();
+                    return "Event not found";
+                }
+                if (!event.isHot()) {
+                    UnitOfWork.setRollbackOnly();
+                    return "Event is not marked as hot";
+                }
+
+                List<EventCounterStripe> stripes = lockStripes(session, eventId);
+                int striped = 0;
+                for (EventCounterStripe stripe : stripes) {
+                    striped += stripe.getRegistrationCount();
+                    session.delete(stripe);
+                }
+
+                event.setRegistrationCount(event.getRegistrationCount() + striped);
+                event.setHot(false);
+                return "Event is no longer marked as hot";
+            });
+        } catch (Exception e) {
+            return "Failed to unmark event: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Take one seat from the participant's stripe, rebalancing when that stripe is dry.
+     * Must be called inside the caller's transaction.
+     *
+     * @return true if a seat was taken, false if the event is full
+     */
+    public static boolean tryIncrement(Session session, Event event, Participant participant) {
+        int stripeIndex = stripeFor(participant);
+
+        int updated = session.createQuery(
+                "UPDATE EventCounterStripe s SET s.registrationCount = s.registrationCount + 1 " +
+                        "WHERE s.event.eventId = :eventId AND s.stripeIndex = :stripeIndex " +
+                        "AND s.registrationCount < s.seatQuota")
+                .setParameter("eventId", event.getEventId())
+                .setParameter("stripeIndex", stripeIndex)
+                .executeUpdate();
+        if (updated == 1) {
+            return true;
+        }
+
+        return rebalanceAndIncrement(session, event.getEventId(), stripeIndex);
+    }
+
+    /**
+     * Give one seat back, preferring the participant's own stripe.
+     * Must be called inside the caller's transaction.
+     */
+    public static void decrement(Session session, Event event, Participant participant) {
+        int preferred = stripeFor(participant);
+
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            int stripeIndex = (preferred + i) % STRIPE_COUNT;
+            int updated = session.createQuery(
+                    "UPDATE EventCounterStripe s SET s.registrationCount = s.registrationCount - 1 " +
+                            "WHERE s.event.eventId = :eventId AND s.stripeIndex = :stripeIndex " +
+                            "AND s.registrationCount > 0")
+                    .setParameter("eventId", event.getEventId())
+                    .setParameter("stripeIndex", stripeIndex)
+                    .executeUpdate();
+            if (updated == 1) {
+                return;
+            }
+        }
+
+        // Registration was counted before the event became hot
+        session.createQuery(
+                "UPDATE Event e SET e.registrationCount = e.registrationCount - 1 " +
+                        "WHERE e.eventId = :eventId AND e.registrationCount > 0")
+                .setParameter("eventId", event.getEventId())
+                .executeUpdate();
+    }
+
+    /**
+     * Redistribute the free seats of a hot event, e.g. after its total seats changed
+     */
+    public static void rebalance(Session session, Long eventId) {
+        rebalanceAndIncrement(session, eventId, -1);
+    }
+
+    /**
+     * Get the summed stripe counters of the given hot events in one query
+     *
+     * @return stripe total per event ID
+     */
+    public static Map<Long, Integer> getStripeTotals(Session session, Collection<Long> hotEventIds) {
+        Map<Long, Integer> totals = new HashMap<>();
+        if (hotEventIds.isEmpty()) {
+            return totals;
+        }
+
+        List<Object[]> rows = session.createQuery(
+                "SELECT s.event.eventId, SUM(s.registrationCount) FROM EventCounterStripe s " +
+                        "WHERE s.event.eventId IN :eventIds GROUP BY s.event.eventId",
+                Object[].class)
+                .setParameterList("eventIds", hotEventIds)
+                .list();
+        for (Object[] row : rows) {
+            totals.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return totals;
+    }
+
+    private static boolean rebalanceAndIncrement(Session session, Long eventId, int stripeIndex) {
+        Event event = session.get(Event.class, eventId);
+        List<EventCounterStripe> stripes = lockStripes(session, eventId);
+
+        int used = 0;
+        for (EventCounterStripe stripe : stripes) {
+            used += stripe.getRegistrationCount();
+        }
+        int free = event.getTotalSeats() - event.getRegistrationCount() - used;
+        if (stripeIndex >= 0) {
+            if (free <= 0) {
+                return false;
+            }
+            free--;
+        }
+
+        EventCounterStripe target = null;
+        for (EventCounterStripe stripe : stripes) {
+            stripe.setSeatQuota(stripe.getRegistrationCount() + shareOf(Math.max(0, free), stripe.getStripeIndex()));
+            if (stripe.getStripeIndex() == stripeIndex) {
+                target = stripe;
+            }
+        }
+
+        if (target != null) {
+            target.setRegistrationCount(target.getRegistrationCount() + 1);
+            target.setSeatQuota(target.getSeatQuota() + 1);
+        }
+        return true;
+    }
+
+    private static List<EventCounterStripe> lockStripes(Session session, Long eventId) {
+        return session.createQuery(
+                "FROM EventCounterStripe s WHERE s.event.eventId = :eventId ORDER BY s.stripeIndex",
+                EventCounterStripe.class)
+                .setParameter("eventId", eventId)
+                .setLockMode("s", LockMode.PESSIMISTIC_WRITE)
+                .list();
+    }
+
+    // Keyed on the participant alone, so a seat is given back to the stripe it was taken from
+    private static int stripeFor(Participant participant) {
+        long key = participant.getParticipantId();
+        return (int) Math.floorMod(key * 0x9E3779B97F4A7C15L >>> 32, (long) STRIPE_COUNT);
+    }
+
+    private static int shareOf(int seats, int stripeIndex) {
+        return seats / STRIPE_COUNT + (stripeIndex < seats % STRIPE_COUNT ? 1 : 0);
+    }
+}
@@ -0,0 +1,243 @@
+package org.example.eventregapp.util;
+
+import org.example.eventregapp.model.AuditEvent;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rolling, gzip-compressed audit log segments with a small index per segment.
+ * Every segment {@code audit-<start>-<n>.log.gz} holds one tab-separated line per event; when a
+ * segment is rolled, an {@code .idx} file listing the participant and event IDs it contains is
+ * written next to it, so queries only decompress segments that can match.
+ * Writing is meant for a single thread; queries may run concurrently with it.
+ */
+public class AuditLog implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".log.gz";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String NONE = "-";
+
+    private final Path directory;
+    private final int maxEventsPerSegment;
+    private final long maxSegmentMillis;
+
+    private Writer out;
+    private Path segment;
+    private long segmentStartedAt;
+    private int segmentEvents;
+    private int segmentCounter;
+    private final Set<Long> segmentParticipants = new TreeSet<>();
+    private final Set<Long> segmentEventIds = new TreeSet<>();
+
+    public AuditLog(Path directory, int maxEventsPerSegment, long maxSegmentMillis) throws IOException {
+        this.directory = directory;
+        this.maxEventsPerSegment = maxEventsPerSegment;
+        this.maxSegmentMillis = maxSegmentMillis;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Append a batch of events and make them readable by queries
+     */
+    public void write(List<AuditEvent> events) throws IOException {
+        for (AuditEvent event : events) {
+            if (out == null) {
+                openSegment();
+            }
+            out.write(format(event));
+            out.write('\n');
+            segmentEvents++;
+            if (event.participantId() != null) {
+                segmentParticipants.add(event.participantId());
+            }
+            if (event.eventId() != null) {
+                segmentEventIds.add(event.eventId());
+            }
+            if (segmentEvents >= maxEventsPerSegment) {
+                closeSegment();
+            }
+        }
+        if (out != null) {
+            // Sync-flush the deflater so the open segment can be read up to this point
+            out.flush();
+            if (System.currentTimeMillis() - segmentStartedAt >= maxSegmentMillis) {
+                closeSegment();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    /**
+     * Find events for a participant and/or event, newest first
+     *
+     * @param participantId participant to match, or null for any
+     * @param eventId event to match, or null for any
+     */
+    public static List<AuditEvent> query(Path directory, Long participantId, Long eventId, int limit)
+            throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "audit-*" + SEGMENT_SUFFIX)) {
+                stream.forEach(segments::add);
+            }
+        }
+        segments.sort(Collections.reverseOrder());
+
+        List<AuditEvent> results = new ArrayList<>();
+        for (Path segment : segments) {
+            if (results.size() >= limit) {
+                break;
+            }
+            if (!indexMayContain(segment, participantId, eventId)) {
+                continue;
+            }
+            List<AuditEvent> matches = new ArrayList<>();
+            readSegment(segment, participantId, eventId, matches);
+            Collections.reverse(matches);
+            for (AuditEvent match : matches) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                results.add(match);
+            }
+        }
+        return results;
+    }
+
+    private void openSegment() throws IOException {
+        segmentStartedAt = System.currentTimeMillis();
+        String name = String.format("audit-%013d-%04d", segmentStartedAt, segmentCounter++ % 10000);
+        segment = directory.resolve(name + SEGMENT_SUFFIX);
+        out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(segment), 8192, true), StandardCharsets.UTF_8));
+        segmentEvents = 0;
+        segmentParticipants.clear();
+        segmentEventIds.clear();
+    }
+
+    private void closeSegment() throws IOException {
+        if (out == null) {
+            return;
+        }
+        out.close();
+        out = null;
+        List<String> index = List.of(
+                "participants " + join(segmentParticipants),
+                "events " + join(segmentEventIds));
+        Files.write(indexFile(segment), index, StandardCharsets.UTF_8);
+    }
+
+    private static boolean indexMayContain(Path segment, Long participantId, Long eventId) throws IOException {
+        Path index = indexFile(segment);
+        if (!Files.exists(index)) {
+            // Segment still being written
+            return true;
+        }
+        Set<Long> participants = new HashSet<>();
+        Set<Long> events = new HashSet<>();
+        for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(" ");
+            Set<Long> target = parts[0].equals("participants") ? participants : events;
+            for (int i = 1; i < parts.length; i++) {
+                target.add(Long.parseLong(parts[i]));
+            }
+        }
+        return (participantId == null || participants.contains(participantId))
+                && (eventId == null || events.contains(eventId));
+    }
+
+    private static void readSegment(Path segment, Long participantId, Long eventId, List<AuditEvent> matches)
+            throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(segment))) {
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                content.write(chunk, 0, read);
+            }
+        } catch (EOFException e) {
+            // The open segment has no gzip trailer yet; everything flushed so far has been read
+        }
+
+        try (BufferedReader reader = new BufferedReader(new StringReader(content.toString(StandardCharsets.UTF_8)))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                AuditEvent event = parse(line);
+                if (event != null
+                        && (participantId == null || participantId.equals(event.participantId()))
+                        && (eventId == null || eventId.equals(event.eventId()))) {
+                    matches.add(event);
+                }
+            }
+        }
+    }
+
+    private static Path indexFile(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private static String format(AuditEvent event) {
+        return event.timestamp() + "\t" + orNone(event.actorId()) + "\t" + event.action() + "\t"
+                + orNone(event.participantId()) + "\t" + orNone(event.eventId()) + "\t"
+                + (event.details() != null ? event.details().replaceAll("[\\t\\r\\n]", " ") : NONE);
+    }
+
+    private static AuditEvent parse(String line) {
+        String[] fields = line.split("\t", 6);
+        if (fields.length < 6) {
+            return null;
+        }
+        try {
+            return new AuditEvent(Long.parseLong(fields[0]), parseId(fields[1]),
+                    AuditEvent.Action.valueOf(fields[2]), parseId(fields[3]), parseId(fields[4]),
+                    fields[5].equals(NONE) ? null : fields[5]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String orNone(Long id) {
+        return id != null ? id.toString() : NONE;
+    }
+
+    private static Long parseId(String field) {
+        return field.equals(NONE) ? null : Long.parseLong(field);
+    }
+
+    private static String join(Set<Long> ids) {
+        StringBuilder builder = new StringBuilder();
+        for (Long id : ids) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(id);
+        }
+        return builder.toString();
+    }
+}
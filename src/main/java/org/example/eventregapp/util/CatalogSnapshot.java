@@ -0,0 +1,126 @@
+package org.example.eventregapp.util;
+
+import org.example.eventregapp.model.EventSummary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of the upcoming events shown in the user view.
+ *
+ * <pre>
+ * int magic, short version, long changeStamp, long createdAtMillis,
+ * int eventCount, events (long id, string name, long epochDay, int totalSeats, int registrationCount, byte hot),
+ * int crc32 of everything before it
+ * </pre>
+ * Strings are an unsigned short byte length followed by UTF-8. Snapshots are read through a
+ * read-only memory mapping and rejected if the magic, version or checksum do not match.
+ */
+public record CatalogSnapshot(long changeStamp, long createdAtMillis, List<EventSummary> events) {
+
+    private static final int MAGIC = 0x45524353; // "ERCS"
+    private static final short VERSION = 2;
+
+    /**
+     * Write the snapshot atomically: to a temporary file first, then moved over the old one
+     */
+    public void write(Path file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + events.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(changeStamp);
+        out.writeLong(createdAtMillis);
+
+        out.writeInt(events.size());
+        for (EventSummary event : events) {
+            out.writeLong(event.eventId());
+            writeString(out, event.eventName());
+            out.writeLong(event.eventDate().toEpochDay());
+            out.writeInt(event.totalSeats());
+            out.writeInt(event.currentRegistrationCount());
+            out.writeByte(event.isHot() ? 1 : 0);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, bytes.toByteArray());
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read a snapshot
+     *
+     * @return the snapshot, or null if the file is missing, from another version or corrupt
+     */
+    public static CatalogSnapshot read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 30 || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit((int) size - 4));
+            if ((int) crc.getValue() != buffer.getInt((int) size - 4)) {
+                return null;
+            }
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                return null;
+            }
+
+            long changeStamp = buffer.getLong();
+            long createdAt = buffer.getLong();
+
+            int eventCount = buffer.getInt();
+            List<EventSummary> events = new ArrayList<>(eventCount);
+            for (int i = 0; i < eventCount; i++) {
+                events.add(new EventSummary(buffer.getLong(), readString(buffer), LocalDate.ofEpochDay(buffer.getLong()),
+                        buffer.getInt(), buffer.getInt(), buffer.get() == 1));
+            }
+            return new CatalogSnapshot(changeStamp, createdAt, events);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("String too long for snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
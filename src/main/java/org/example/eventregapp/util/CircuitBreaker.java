@@ -0,0 +1,112 @@
+package org.example.eventregapp.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker for a remote resource.
+ * After {@code failureThreshold} consecutive failures it opens and rejects calls for
+ * {@code openMillis}; then a single half-open probe decides whether it closes again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Point-in-time counters of a circuit breaker
+     */
+    public record Metrics(State state, long successes, long failures, long rejected, long timesOpened) {
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private volatile long openedAt;
+
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timesOpened = new AtomicLong();
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        if (failureThreshold <= 0 || openMillis <= 0) {
+            throw new IllegalArgumentException("failureThreshold and openMillis must be positive");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Check whether a call may go ahead; every allowed call must be followed by
+     * {@link #recordSuccess()} or {@link #recordFailure()}
+     */
+    public boolean allowRequest() {
+        switch (state.get()) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                // The probe is claimed before the state moves, so a caller that sees HALF_OPEN in between
+                // finds it taken and only one probe goes through
+                if (System.currentTimeMillis() - openedAt >= openMillis && probeInFlight.compareAndSet(false, true)) {
+                    if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                        System.out.println("Circuit breaker '" + name + "' half-open, probing");
+                        return true;
+                    }
+                    probeInFlight.set(false);
+                }
+                break;
+            case HALF_OPEN:
+                if (probeInFlight.compareAndSet(false, true)) {
+                    return true;
+                }
+                break;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void recordSuccess() {
+        successes.incrementAndGet();
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            probeInFlight.set(false);
+            System.out.println("Circuit breaker '" + name + "' closed");
+        }
+    }
+
+    public void recordFailure() {
+        failures.incrementAndGet();
+        if (state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+            open();
+            probeInFlight.set(false);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold
+                && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            open();
+        }
+    }
+
+    private void open() {
+        openedAt = System.currentTimeMillis();
+        timesOpened.incrementAndGet();
+        System.err.println("Circuit breaker '" + name + "' opened for " + openMillis + " ms");
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(state.get(), successes.get(), failures.get(), rejected.get(), timesOpened.get());
+    }
+}
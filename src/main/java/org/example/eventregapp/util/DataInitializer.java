@@ -1,6 +1,7 @@
 package org.example.eventregapp.util;
 
 import org.example.eventregapp.model.Participant;
+import org.example.eventregapp.service.ReportingService;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 
@@ -18,6 +19,7 @@ public class DataInitializer {
 
                 Transaction transaction = session.beginTransaction();
                 session.save(admin);
+                ReportingService.recordParticipantAdded(session, admin.getRole());
                 transaction.commit();
 
                 System.out.println("Default admin user created: admin@example.com / admin123");
@@ -33,6 +35,7 @@ public class DataInitializer {
 
                 Transaction transaction = session.beginTransaction();
                 session.save(user);
+                ReportingService.recordParticipantAdded(session, user.getRole());
                 transaction.commit();
 
                 System.out.println("Default user created: user@example.com / user123");
@@ -0,0 +1,140 @@
+package org.example.eventregapp.util;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Retry and circuit breaking for database access.
+ * Transient errors (deadlocks, serialization failures, lost connections) are retried with
+ * jittered exponential backoff; once the database keeps failing, the circuit breaker makes
+ * calls fail fast instead of adding retries to the load.
+ */
+public class DatabaseResilience {
+
+    public static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_DELAY_MILLIS = 50;
+    private static final long MAX_DELAY_MILLIS = 1000;
+
+    // Oracle error codes for a lost connection and listener/network errors
+    private static final Set<Integer> CONNECTION_ORACLE_CODES = Set.of(
+            3113, 3114, 3135, 12170, 12541, 12571, 17002, 17008, 17410);
+
+    // Oracle error codes worth retrying on a live database: deadlock, resource busy,
+    // serialization failure and a cancelled call
+    private static final Set<Integer> CONTENTION_ORACLE_CODES = Set.of(60, 54, 51, 8177, 1013);
+
+    /**
+     * Point-in-time resilience counters for the database
+     */
+    public record Metrics(CircuitBreaker.Metrics breaker, long retries) {
+    }
+
+    private static final CircuitBreaker breaker = new CircuitBreaker("database", 5, 15_000);
+    private static final AtomicLong retries = new AtomicLong();
+
+    /**
+     * Run one database attempt, retrying transient failures
+     */
+    static <T> T execute(Supplier<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            if (!breaker.allowRequest()) {
+                throw new DatabaseUnavailableException("Database temporarily unavailable, please try again shortly");
+            }
+            try {
+                T result = attempt.get();
+                breaker.recordSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    // The database answered, the request itself was wrong
+                    breaker.recordSuccess();
+                    throw e;
+                }
+                breaker.recordFailure();
+                if (attemptNumber >= MAX_ATTEMPTS || breaker.getState() == CircuitBreaker.State.OPEN) {
+                    throw e;
+                }
+                retries.incrementAndGet();
+                System.err.println("Transient database error, retrying (attempt " + (attemptNumber + 1) + "): "
+                        + e.getMessage());
+                try {
+                    Thread.sleep(backoffMillis(attemptNumber));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether an error, or any of its causes, is a transient database failure
+     */
+    public static boolean isTransient(Throwable error) {
+        if (isConnectionFailure(error)) {
+            return true;
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientException) {
+                return true;
+            }
+            if (t instanceof SQLException sql) {
+                if ("40001".equals(sql.getSQLState()) || CONTENTION_ORACLE_CODES.contains(sql.getErrorCode())) {
+                    return true;
+                }
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether an error, or any of its causes, means the database could not be reached at all,
+     * as opposed to a deadlock or serialization failure on a database that is up
+     */
+    public static boolean isConnectionFailure(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SQLRecoverableException || t instanceof SQLTransientConnectionException
+                    || t instanceof SQLNonTransientConnectionException
+                    || t instanceof SocketException || t instanceof SocketTimeoutException) {
+                return true;
+            }
+            if (t instanceof SQLException sql) {
+                String sqlState = sql.getSQLState();
+                if ((sqlState != null && sqlState.startsWith("08"))
+                        || CONNECTION_ORACLE_CODES.contains(sql.getErrorCode())) {
+                    return true;
+                }
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    // Exponential backoff with equal jitter: half the delay is fixed, half is random
+    static long backoffMillis(int attemptNumber) {
+        long delay = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << Math.min(attemptNumber - 1, 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    public static CircuitBreaker.State getState() {
+        return breaker.getState();
+    }
+
+    public static Metrics getMetrics() {
+        return new Metrics(breaker.getMetrics(), retries.get());
+    }
+}
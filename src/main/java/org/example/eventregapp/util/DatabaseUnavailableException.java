@@ -0,0 +1,13 @@
+package org.example.eventregapp.util;
+
+/**
+ * Thrown without contacting the database while its circuit breaker is open
+ */
+public class DatabaseUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DatabaseUnavailableException(String message) {
+        super(message);
+    }
+}
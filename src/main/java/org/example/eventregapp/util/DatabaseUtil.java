@@ -5,29 +5,122 @@ import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
 
 /**
- * Simple database utility for CRUD operations
+ * Simple database utility for CRUD operations.
+ * Writes always go to the primary database. If {@code -Deventreg.replica.url} is set,
+ * read-only units of work go to that replica, except for a short window after a write
+ * so that users see their own changes.
  */
 public class DatabaseUtil {
 
+    private static final long READ_YOUR_WRITES_MILLIS = Long.getLong("eventreg.replica.stickyMillis", 5000);
+
     private static SessionFactory sessionFactory;
+    private static SessionFactory replicaSessionFactory;
+    private static volatile long primaryReadsUntil;
+    private static int poolMaxSize = 20;
 
     static {
         try {
-            Configuration configuration = new Configuration();
-            configuration.configure("hibernate.cfg.xml");
-            sessionFactory = configuration.buildSessionFactory();
+            sessionFactory = buildSessionFactory("eventreg.primary", true);
             System.out.println("✅ Database connection established");
         } catch (Exception e) {
             System.err.println("❌ Database connection failed: " + e.getMessage());
             e.printStackTrace();
         }
+
+        String replicaUrl = System.getProperty("eventreg.replica.url");
+        if (replicaUrl != null && !replicaUrl.isBlank()) {
+            try {
+                replicaSessionFactory = buildSessionFactory("eventreg.replica", false);
+                System.out.println("✅ Read replica connection established");
+            } catch (Exception e) {
+                System.err.println("❌ Read replica connection failed, reads use the primary: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Build a session factory from hibernate.cfg.xml, overriding the connection settings
+     * with any {@code <prefix>.url/.username/.password/.driver/.dialect} system properties
+     */
+    private static SessionFactory buildSessionFactory(String prefix, boolean primary) {
+        Configuration configuration = new Configuration();
+        configuration.configure("hibernate.cfg.xml");
+        override(configuration, prefix + ".url", "hibernate.connection.url");
+        override(configuration, prefix + ".username", "hibernate.connection.username");
+        override(configuration, prefix + ".password", "hibernate.connection.password");
+        override(configuration, prefix + ".driver", "hibernate.connection.driver_class");
+        override(configuration, prefix + ".dialect", "hibernate.dialect");
+        if (!primary) {
+            // The schema is owned by the primary
+            configuration.setProperty("hibernate.hbm2ddl.auto", "none");
+        } else {
+            String maxSize = configuration.getProperty("hibernate.c3p0.max_size");
+            if (maxSize != null) {
+                poolMaxSize = Integer.parseInt(maxSize.trim());
+            }
+        }
+        return configuration.buildSessionFactory();
     }
 
+    private static void override(Configuration configuration, String systemProperty, String hibernateProperty) {
+        String value = System.getProperty(systemProperty);
+        if (value != null) {
+            configuration.setProperty(hibernateProperty, value);
+        }
+    }
+
+    /**
+     * Open a session on the primary database
+     */
     public static Session getSession() {
         return sessionFactory.openSession();
     }
 
+    /**
+     * Open a session for read-only work: the replica if one is configured and
+     * there was no recent write, otherwise the primary
+     */
+    public static Session getReadSession() {
+        if (replicaSessionFactory == null || System.currentTimeMillis() < primaryReadsUntil) {
+            return getSession();
+        }
+        return replicaSessionFactory.openSession();
+    }
+
+    /**
+     * Record a committed write, so reads go to the primary for the read-your-writes window
+     */
+    public static void recordWrite() {
+        primaryReadsUntil = System.currentTimeMillis() + READ_YOUR_WRITES_MILLIS;
+    }
+
+    /**
+     * Get the maximum number of pooled connections to the primary
+     */
+    public static int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public static boolean hasReplica() {
+        return replicaSessionFactory != null;
+    }
+
+    /**
+     * Get the session bound to the current thread by {@link UnitOfWork}
+     */
+    public static Session getCurrentSession() {
+        Session session = UnitOfWork.currentSession();
+        if (session == null) {
+            throw new IllegalStateException("No unit of work is active on this thread");
+        }
+        return session;
+    }
+
     public static void closeSessionFactory() {
+        if (replicaSessionFactory != null) {
+            replicaSessionFactory.close();
+        }
         if (sessionFactory != null) {
             sessionFactory.close();
         }
@@ -0,0 +1,109 @@
+package org.example.eventregapp.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of events keyed by event date.
+ * Range, next-N and same-day lookups are O(log n) plus the size of the result.
+ */
+public class EventCalendarIndex {
+
+    /**
+     * The indexed columns of one event
+     */
+    public record Entry(Long eventId, String eventName, LocalDate eventDate) {
+    }
+
+    private final ConcurrentSkipListMap<LocalDate, Map<Long, Entry>> byDate = new ConcurrentSkipListMap<>();
+    private final Map<Long, LocalDate> dateById = new ConcurrentHashMap<>();
+
+    /**
+     * Add an event or move it to its new date
+     */
+    public synchronized void put(Long eventId, String eventName, LocalDate eventDate) {
+        remove(eventId);
+        byDate.computeIfAbsent(eventDate, d -> Collections.synchronizedMap(new LinkedHashMap<>()))
+                .put(eventId, new Entry(eventId, eventName, eventDate));
+        dateById.put(eventId, eventDate);
+    }
+
+    public synchronized void remove(Long eventId) {
+        LocalDate oldDate = dateById.remove(eventId);
+        if (oldDate == null) {
+            return;
+        }
+        Map<Long, Entry> sameDay = byDate.get(oldDate);
+        if (sameDay != null) {
+            sameDay.remove(eventId);
+            if (sameDay.isEmpty()) {
+                byDate.remove(oldDate);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        byDate.clear();
+        dateById.clear();
+    }
+
+    public int size() {
+        return dateById.size();
+    }
+
+    /**
+     * Events dated from {@code from} to {@code to}, both inclusive, in date order
+     */
+    public List<Entry> between(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return List.of();
+        }
+        return flatten(byDate.subMap(from, true, to, true), Integer.MAX_VALUE);
+    }
+
+    /**
+     * The first {@code count} events dated on or after {@code from}
+     */
+    public List<Entry> next(LocalDate from, int count) {
+        return flatten(byDate.tailMap(from, true), count);
+    }
+
+    /**
+     * Events on the given date
+     */
+    public List<Entry> sameDay(LocalDate date) {
+        Map<Long, Entry> sameDay = byDate.get(date);
+        if (sameDay == null) {
+            return List.of();
+        }
+        synchronized (sameDay) {
+            return new ArrayList<>(sameDay.values());
+        }
+    }
+
+    public LocalDate dateOf(Long eventId) {
+        return dateById.get(eventId);
+    }
+
+    private static List<Entry> flatten(NavigableMap<LocalDate, Map<Long, Entry>> range, int limit) {
+        List<Entry> result = new ArrayList<>();
+        for (Map<Long, Entry> sameDay : range.values()) {
+            synchronized (sameDay) {
+                for (Entry entry : sameDay.values()) {
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+}
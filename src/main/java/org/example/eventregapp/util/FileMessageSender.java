@@ -0,0 +1,43 @@
+package org.example.eventregapp.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Stand-in sender that writes each message as an RFC 822 {@code .eml} file into a directory,
+ * so confirmations can be inspected (or opened in a mail client) without a mail server.
+ */
+public class FileMessageSender implements MessageSender {
+
+    private final Path directory;
+    private final String from;
+
+    public FileMessageSender(Path directory, String from) throws IOException {
+        this.directory = directory;
+        this.from = from;
+        Files.createDirectories(directory);
+    }
+
+    @Override
+    public void send(String recipient, String subject, String body) throws IOException {
+        String message = "From: " + from + "\r\n" +
+                "To: " + recipient + "\r\n" +
+                "Subject: " + subject + "\r\n" +
+                "Date: " + ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME) + "\r\n" +
+                "Content-Type: text/plain; charset=UTF-8\r\n" +
+                "\r\n" +
+                body.replace("\n", "\r\n") + "\r\n";
+
+        // Write under a temporary name and rename, so a reader never sees a partial file
+        String name = System.currentTimeMillis() + "-" + UUID.randomUUID();
+        Path temp = directory.resolve(name + ".tmp");
+        Files.write(temp, message.getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, directory.resolve(name + ".eml"), StandardCopyOption.ATOMIC_MOVE);
+    }
+}
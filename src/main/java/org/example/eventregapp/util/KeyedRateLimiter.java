@@ -0,0 +1,86 @@
+package org.example.eventregapp.util;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Token buckets per key (participant, email...) in a bounded concurrent map.
+ * When the map is full, a clock hand moves over a few buckets per new key and drops the first
+ * one that has refilled completely; if it finds none, the new key shares one overflow bucket,
+ * so a flood of new keys can neither grow memory nor make every call scan the whole map.
+ */
+public class KeyedRateLimiter<K> {
+
+    // Buckets looked at per new key while the map is full
+    private static final int SWEEP_STEP = 8;
+
+    private final double tokensPerSecond;
+    private final int burst;
+    private final int maxKeys;
+    private final ConcurrentHashMap<K, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+
+    // The hand keeps its place between calls and only one thread moves it at a time
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private Iterator<TokenBucket> hand;
+
+    public KeyedRateLimiter(double tokensPerSecond, int burst, int maxKeys) {
+        this.tokensPerSecond = tokensPerSecond;
+        this.burst = burst;
+        this.maxKeys = maxKeys;
+        this.overflow = new TokenBucket(tokensPerSecond, burst);
+    }
+
+    public boolean tryAcquire(K key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = bucketForNewKey(key);
+        }
+        return bucket.tryAcquire();
+    }
+
+    /**
+     * Give back the token just taken for the key
+     */
+    public void release(K key) {
+        TokenBucket bucket = buckets.get(key);
+        (bucket != null ? bucket : overflow).release();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucketForNewKey(K key) {
+        if (buckets.size() >= maxKeys && !evictIdle()) {
+            return overflow;
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(tokensPerSecond, burst));
+    }
+
+    // Move the hand over at most SWEEP_STEP buckets and drop the first idle one; a new iterator is only
+    // needed once per lap, so the work per new key stays constant however many keys there are
+    private boolean evictIdle() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            for (int i = 0; i < SWEEP_STEP; i++) {
+                if (hand == null || !hand.hasNext()) {
+                    hand = buckets.values().iterator();
+                    if (!hand.hasNext()) {
+                        return false;
+                    }
+                }
+                if (hand.next().isIdle()) {
+                    hand.remove();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
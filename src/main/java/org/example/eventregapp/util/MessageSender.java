@@ -0,0 +1,13 @@
+package org.example.eventregapp.util;
+
+import java.io.IOException;
+
+/**
+ * Delivers one outbox message. Implementations must be safe to call from several threads;
+ * a message may be delivered more than once if the dispatcher fails after sending it.
+ */
+@FunctionalInterface
+public interface MessageSender {
+
+    void send(String recipient, String subject, String body) throws IOException;
+}
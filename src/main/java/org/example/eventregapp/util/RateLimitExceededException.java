@@ -0,0 +1,13 @@
+package org.example.eventregapp.util;
+
+/**
+ * Thrown when a caller has used up its rate limit
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.eventregapp.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of provisional registrations in a memory-mapped file.
+ * Each record is a CRC-framed entry; appends only write to the mapping and a background
+ * thread forces dirty pages to disk every {@code flushMillis}, so many appends share one fsync.
+ * On open the file is scanned up to the first invalid frame to rebuild the pending records.
+ *
+ * <pre>
+ * header: int magic, int version, long generation
+ * frame:  int payloadLength, int crc32(generation, type, payload), byte type, payload
+ * </pre>
+ * Clearing the journal bumps the generation, so frames left over from before no longer validate.
+ */
+public class RegistrationJournal implements AutoCloseable {
+
+    public static final byte PENDING = 1;
+    public static final byte DONE = 2;
+
+    private static final int MAGIC = 0x45524A31; // "ERJ1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int FRAME_OVERHEAD = 9;
+    private static final int MAX_KEY_BYTES = 255;
+
+    /**
+     * A provisional registration waiting to be written to the database
+     */
+    public record Entry(String key, long participantId, long eventId, long createdAtMillis) {
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final ScheduledExecutorService flusher;
+    private final CRC32 crc = new CRC32();
+    private final Map<String, Entry> pending = new LinkedHashMap<>();
+
+    private long generation;
+    private int position;
+    private volatile boolean dirty;
+
+    public RegistrationJournal(Path file, int capacityBytes, long flushMillis) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacityBytes, HEADER_SIZE + 1024));
+
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+            generation = buffer.getLong(8);
+            recover();
+        } else {
+            generation = 1;
+            writeHeader();
+            position = HEADER_SIZE;
+            buffer.putInt(position, 0);
+            buffer.force();
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "registration-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Append a provisional registration
+     *
+     * @return false if the key is too long or the journal is full
+     */
+    public synchronized boolean appendPending(Entry entry) {
+        byte[] key = entry.key().getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_KEY_BYTES) {
+            return false;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(1 + key.length + 24);
+        payload.put((byte) key.length).put(key)
+                .putLong(entry.participantId()).putLong(entry.eventId()).putLong(entry.createdAtMillis());
+        if (!appendFrame(PENDING, payload.array())) {
+            return false;
+        }
+        pending.put(entry.key(), entry);
+        return true;
+    }
+
+    /**
+     * Mark a pending registration as handled; the journal is cleared once nothing is pending
+     */
+    public synchronized void markDone(String key) {
+        if (pending.remove(key) == null) {
+            return;
+        }
+        if (pending.isEmpty()) {
+            clear();
+            return;
+        }
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + bytes.length);
+        payload.put((byte) bytes.length).put(bytes);
+        appendFrame(DONE, payload.array());
+    }
+
+    public synchronized boolean isPending(String key) {
+        return pending.containsKey(key);
+    }
+
+    /**
+     * Get the pending registrations in the order they were accepted
+     */
+    public synchronized List<Entry> getPending() {
+        return new ArrayList<>(pending.values());
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Force appended records to disk now instead of waiting for the next batch
+     */
+    public void flush() {
+        if (dirty) {
+            dirty = false;
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdownNow();
+        flush();
+        channel.close();
+    }
+
+    private boolean appendFrame(byte type, byte[] payload) {
+        // Keep room for the zero length that terminates the scan
+        if (position + FRAME_OVERHEAD + payload.length + 4 > buffer.capacity()) {
+            return false;
+        }
+        buffer.putInt(position + FRAME_OVERHEAD + payload.length, 0);
+        buffer.put(position + FRAME_OVERHEAD, payload);
+        buffer.put(position + 8, type);
+        buffer.putInt(position + 4, checksum(type, payload));
+        // The length goes last, so a torn append is never mistaken for a complete frame
+        buffer.putInt(position, payload.length);
+        position += FRAME_OVERHEAD + payload.length;
+        dirty = true;
+        return true;
+    }
+
+    private void recover() {
+        position = HEADER_SIZE;
+        while (position + FRAME_OVERHEAD <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + FRAME_OVERHEAD + length > buffer.capacity()) {
+                break;
+            }
+            byte type = buffer.get(position + 8);
+            byte[] payload = new byte[length];
+            buffer.get(position + FRAME_OVERHEAD, payload);
+            if (buffer.getInt(position + 4) != checksum(type, payload)) {
+                break;
+            }
+            apply(type, ByteBuffer.wrap(payload));
+            position += FRAME_OVERHEAD + length;
+        }
+    }
+
+    private void apply(byte type, ByteBuffer payload) {
+        byte[] key = new byte[payload.get() & 0xFF];
+        payload.get(key);
+        String keyString = new String(key, StandardCharsets.UTF_8);
+        if (type == PENDING) {
+            pending.put(keyString, new Entry(keyString, payload.getLong(), payload.getLong(), payload.getLong()));
+        } else if (type == DONE) {
+            pending.remove(keyString);
+        }
+    }
+
+    private void clear() {
+        generation++;
+        writeHeader();
+        position = HEADER_SIZE;
+        buffer.putInt(position, 0);
+        dirty = true;
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, generation);
+    }
+
+    private int checksum(byte type, byte[] payload) {
+        crc.reset();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (generation >>> shift));
+        }
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
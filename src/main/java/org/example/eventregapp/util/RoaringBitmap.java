@@ -0,0 +1,401 @@
+package org.example.eventregapp.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints in the Roaring layout.
+ * Values are split by their high 16 bits into chunks; a chunk with at most 4096 values is a
+ * sorted {@code char[]}, a denser one a 65536-bit {@code long[]}. Set operations work chunk by
+ * chunk and skip chunks missing on one side, so their cost follows the number of values stored,
+ * not the size of the ID range. Not thread-safe.
+ */
+public class RoaringBitmap {
+
+    // Above this many values a bitmap chunk (8 KB) is smaller than a sorted array
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys;
+    private Object[] chunks;
+    private int size;
+
+    public RoaringBitmap() {
+        this(4);
+    }
+
+    private RoaringBitmap(int capacity) {
+        keys = new char[Math.max(capacity, 1)];
+        chunks = new Object[Math.max(capacity, 1)];
+    }
+
+    /**
+     * @return true if the value was not in the set
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            insertChunk(-index - 1, key, new char[]{low});
+            return true;
+        }
+        Object chunk = chunks[index];
+        if (chunk instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) != 0) {
+                return false;
+            }
+            bits[low >>> 6] |= mask;
+            return true;
+        }
+        char[] values = (char[]) chunk;
+        int position = Arrays.binarySearch(values, low);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (values.length == ARRAY_MAX) {
+            long[] bits = toBits(values);
+            bits[low >>> 6] |= 1L << low;
+            chunks[index] = bits;
+            return true;
+        }
+        char[] grown = new char[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, position);
+        grown[position] = low;
+        System.arraycopy(values, position, grown, position + 1, values.length - position);
+        chunks[index] = grown;
+        return true;
+    }
+
+    /**
+     * @return true if the value was in the set
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            return false;
+        }
+        Object chunk = chunks[index];
+        if (chunk instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                return false;
+            }
+            bits[low >>> 6] &= ~mask;
+            int cardinality = cardinality(bits);
+            if (cardinality <= ARRAY_MAX) {
+                chunks[index] = toValues(bits, cardinality);
+            }
+            return true;
+        }
+        char[] values = (char[]) chunk;
+        int position = Arrays.binarySearch(values, low);
+        if (position < 0) {
+            return false;
+        }
+        if (values.length == 1) {
+            removeChunk(index);
+            return true;
+        }
+        char[] shrunk = new char[values.length - 1];
+        System.arraycopy(values, 0, shrunk, 0, position);
+        System.arraycopy(values, position + 1, shrunk, position, shrunk.length - position);
+        chunks[index] = shrunk;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return index >= 0 && contains(chunks[index], (char) value);
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += chunks[i] instanceof long[] bits ? cardinality(bits) : ((char[]) chunks[i]).length;
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Values in both sets
+     */
+    public RoaringBitmap and(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap(Math.min(size, other.size));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Object chunk = and(chunks[i], other.chunks[j]);
+                if (chunk != null) {
+                    result.appendChunk(keys[i], chunk);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values in either set
+     */
+    public RoaringBitmap or(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap(size + other.size);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.appendChunk(keys[i], copy(chunks[i]));
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.appendChunk(other.keys[j], copy(other.chunks[j]));
+                j++;
+            } else {
+                result.appendChunk(keys[i], or(chunks[i], other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values in this set but not in the other
+     */
+    public RoaringBitmap andNot(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap(size);
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Object chunk = j < other.size && other.keys[j] == keys[i]
+                    ? andNot(chunks[i], other.chunks[j])
+                    : copy(chunks[i]);
+            if (chunk != null) {
+                result.appendChunk(keys[i], chunk);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Call the consumer for every value in ascending order
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            int high = keys[i] << 16;
+            if (chunks[i] instanceof long[] bits) {
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long remaining = bits[word];
+                    while (remaining != 0) {
+                        consumer.accept(high | word << 6 | Long.numberOfTrailingZeros(remaining));
+                        remaining &= remaining - 1;
+                    }
+                }
+            } else {
+                for (char low : (char[]) chunks[i]) {
+                    consumer.accept(high | low);
+                }
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[Math.toIntExact(cardinality())];
+        int[] next = new int[1];
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    public RoaringBitmap copy() {
+        RoaringBitmap result = new RoaringBitmap(size);
+        for (int i = 0; i < size; i++) {
+            result.appendChunk(keys[i], copy(chunks[i]));
+        }
+        return result;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values are not supported: " + value);
+        }
+    }
+
+    private void insertChunk(int index, char key, Object chunk) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            chunks = Arrays.copyOf(chunks, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(chunks, index, chunks, index + 1, size - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        size++;
+    }
+
+    private void appendChunk(char key, Object chunk) {
+        insertChunk(size, key, chunk);
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(chunks, index + 1, chunks, index, size - index - 1);
+        size--;
+        chunks[size] = null;
+    }
+
+    private static boolean contains(Object chunk, char low) {
+        if (chunk instanceof long[] bits) {
+            return (bits[low >>> 6] & 1L << low) != 0;
+        }
+        return Arrays.binarySearch((char[]) chunk, low) >= 0;
+    }
+
+    // Chunk operations return a new chunk, or null when the result is empty
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof long[] bitsA && b instanceof long[] bitsB) {
+            long[] bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                bits[i] = bitsA[i] & bitsB[i];
+            }
+            return normalize(bits);
+        }
+        // At least one side is an array, so the result is one too
+        char[] values = a instanceof char[] array ? array : (char[]) b;
+        Object probe = values == a ? b : a;
+        char[] result = new char[values.length];
+        int count = 0;
+        for (char low : values) {
+            if (contains(probe, low)) {
+                result[count++] = low;
+            }
+        }
+        return count == 0 ? null : Arrays.copyOf(result, count);
+    }
+
+    private static Object or(Object a, Object b) {
+        if (a instanceof char[] valuesA && b instanceof char[] valuesB
+                && valuesA.length + valuesB.length <= ARRAY_MAX) {
+            char[] result = new char[valuesA.length + valuesB.length];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < valuesA.length && j < valuesB.length) {
+                if (valuesA[i] < valuesB[j]) {
+                    result[count++] = valuesA[i++];
+                } else if (valuesA[i] > valuesB[j]) {
+                    result[count++] = valuesB[j++];
+                } else {
+                    result[count++] = valuesA[i++];
+                    j++;
+                }
+            }
+            while (i < valuesA.length) {
+                result[count++] = valuesA[i++];
+            }
+            while (j < valuesB.length) {
+                result[count++] = valuesB[j++];
+            }
+            return Arrays.copyOf(result, count);
+        }
+        long[] bits = a instanceof long[] bitsA ? bitsA.clone() : toBits((char[]) a);
+        if (b instanceof long[] bitsB) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                bits[i] |= bitsB[i];
+            }
+        } else {
+            for (char low : (char[]) b) {
+                bits[low >>> 6] |= 1L << low;
+            }
+        }
+        return normalize(bits);
+    }
+
+    private static Object andNot(Object a, Object b) {
+        if (a instanceof char[] values) {
+            char[] result = new char[values.length];
+            int count = 0;
+            for (char low : values) {
+                if (!contains(b, low)) {
+                    result[count++] = low;
+                }
+            }
+            return count == 0 ? null : Arrays.copyOf(result, count);
+        }
+        long[] bits = ((long[]) a).clone();
+        if (b instanceof long[] bitsB) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                bits[i] &= ~bitsB[i];
+            }
+        } else {
+            for (char low : (char[]) b) {
+                bits[low >>> 6] &= ~(1L << low);
+            }
+        }
+        return normalize(bits);
+    }
+
+    private static Object copy(Object chunk) {
+        return chunk instanceof long[] bits ? bits.clone() : ((char[]) chunk).clone();
+    }
+
+    // Keep a bitmap chunk only while it is denser than an array would be
+    private static Object normalize(long[] bits) {
+        int cardinality = cardinality(bits);
+        if (cardinality == 0) {
+            return null;
+        }
+        return cardinality <= ARRAY_MAX ? toValues(bits, cardinality) : bits;
+    }
+
+    private static int cardinality(long[] bits) {
+        int cardinality = 0;
+        for (long word : bits) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    private static long[] toBits(char[] values) {
+        long[] bits = new long[BITMAP_WORDS];
+        for (char low : values) {
+            bits[low >>> 6] |= 1L << low;
+        }
+        return bits;
+    }
+
+    private static char[] toValues(long[] bits, int cardinality) {
+        char[] values = new char[cardinality];
+        int count = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                values[count++] = (char) (word << 6 | Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+        }
+        return values;
+    }
+}
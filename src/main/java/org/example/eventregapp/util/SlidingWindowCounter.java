@@ -0,0 +1,64 @@
+package org.example.eventregapp.util;
+
+import java.util.Arrays;
+
+/**
+ * Counter over a sliding time window, kept as a ring buffer of fixed-width time buckets.
+ * Each bucket remembers which time slot it holds, so stale buckets are recognised and
+ * reset lazily instead of by a background sweeper.
+ */
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final long[] counts;
+    private final long[] slots;
+
+    public SlidingWindowCounter(int buckets, long bucketMillis) {
+        if (buckets <= 0 || bucketMillis <= 0) {
+            throw new IllegalArgumentException("Bucket count and width must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.counts = new long[buckets];
+        this.slots = new long[buckets];
+        Arrays.fill(slots, -1);
+    }
+
+    /**
+     * Add to the bucket of the given time; times older than the window are ignored
+     */
+    public synchronized void add(long timeMillis, long delta) {
+        long slot = timeMillis / bucketMillis;
+        int index = (int) Math.floorMod(slot, (long) counts.length);
+        if (slots[index] != slot) {
+            if (slots[index] > slot) {
+                return;
+            }
+            slots[index] = slot;
+            counts[index] = 0;
+        }
+        counts[index] += delta;
+    }
+
+    /**
+     * Sum of the last {@code buckets} buckets up to and including the one containing {@code nowMillis}
+     */
+    public synchronized long sum(long nowMillis, int buckets) {
+        long current = nowMillis / bucketMillis;
+        long oldest = current - Math.min(buckets, counts.length) + 1;
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (slots[i] >= oldest && slots[i] <= current) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.eventregapp.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal plain SMTP sender for a local relay or a development mail catcher (no TLS, no auth).
+ * One connection per message.
+ */
+public class SmtpMessageSender implements MessageSender {
+
+    private static final int TIMEOUT_MILLIS = 10_000;
+
+    private final String host;
+    private final int port;
+    private final String from;
+
+    public SmtpMessageSender(String host, int port, String from) {
+        this.host = host;
+        this.port = port;
+        this.from = from;
+    }
+
+    @Override
+    public void send(String recipient, String subject, String body) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), TIMEOUT_MILLIS);
+            socket.setSoTimeout(TIMEOUT_MILLIS);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+
+            expect(in, 220);
+            command(out, in, "HELO localhost", 250);
+            command(out, in, "MAIL FROM:<" + from + ">", 250);
+            command(out, in, "RCPT TO:<" + recipient + ">", 250);
+            command(out, in, "DATA", 354);
+
+            StringBuilder data = new StringBuilder();
+            data.append("From: ").append(from).append("\r\n");
+            data.append("To: ").append(recipient).append("\r\n");
+            data.append("Subject: ").append(subject).append("\r\n");
+            data.append("Content-Type: text/plain; charset=UTF-8\r\n\r\n");
+            for (String line : body.split("\n", -1)) {
+                // Dot-stuffing, so a line with a single dot does not end the message
+                data.append(line.startsWith(".") ? "." + line : line).append("\r\n");
+            }
+            data.append(".");
+            command(out, in, data.toString(), 250);
+            command(out, in, "QUIT", 221);
+        }
+    }
+
+    private static void command(OutputStream out, BufferedReader in, String line, int expected) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        expect(in, expected);
+    }
+
+    private static void expect(BufferedReader in, int expected) throws IOException {
+        String line;
+        // Multi-line replies have a '-' after the code on every line but the last
+        do {
+            line = in.readLine();
+            if (line == null) {
+                throw new IOException("SMTP connection closed, expected " + expected);
+            }
+        } while (line.length() > 3 && line.charAt(3) == '-');
+        if (!line.startsWith(String.valueOf(expected))) {
+            throw new IOException("SMTP error: " + line);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.eventregapp.util;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Typed cell value factories and reusable text renderers for table columns over read-only rows.
+ * A table asks a column's value factory for every cell it updates, while scrolling and sorting too,
+ * so the factory here builds a one-field value once per row and column and hands the same one back
+ * afterwards instead of a new property each time. Formatting is kept out of the value, in the cell,
+ * so columns keep their numeric or date type and sort by it rather than by the formatted text.
+ * The factories are used on the FX thread only.
+ */
+public final class TableCells {
+
+    private TableCells() {
+    }
+
+    /**
+     * Cell value factory reading a column from the row, e.g. {@code value(EventSummary::eventName)}
+     */
+    public static <S, T> Callback<TableColumn.CellDataFeatures<S, T>, ObservableValue<T>> value(
+            Function<? super S, ? extends T> getter) {
+        // Rows are immutable records that get replaced, never changed, so a row's value never goes stale;
+        // the weak keys let the values of replaced rows go with them
+        Map<S, ObservableValue<T>> values = new WeakHashMap<>();
+        return cellData -> values.computeIfAbsent(cellData.getValue(), row -> new FixedValue<>(getter.apply(row)));
+    }
+
+    /**
+     * Cell value factory for a yes/no column that depends on state outside the row, e.g. whether the
+     * user is registered; it is evaluated on every call, and both answers are shared values
+     */
+    public static <S> Callback<TableColumn.CellDataFeatures<S, Boolean>, ObservableValue<Boolean>> flag(
+            Predicate<? super S> test) {
+        return cellData -> test.test(cellData.getValue()) ? FixedValue.TRUE : FixedValue.FALSE;
+    }
+
+    /**
+     * Cell factory showing the value as formatted text; empty cells and null values stay blank
+     */
+    public static <S, T> Callback<TableColumn<S, T>, TableCell<S, T>> text(Function<? super T, String> format) {
+        return column -> new FormattedCell<>((row, value) -> format.apply(value));
+    }
+
+    /**
+     * Cell factory for text that also needs other fields of the row, e.g. "12 / 50" for a
+     * registered count column
+     */
+    public static <S, T> Callback<TableColumn<S, T>, TableCell<S, T>> rowText(
+            BiFunction<? super S, ? super T, String> format) {
+        return column -> new FormattedCell<>(format);
+    }
+
+    // Rows are immutable records that get replaced, never changed, so nobody needs to be told
+    private record FixedValue<T>(T value) implements ObservableValue<T> {
+
+        static final FixedValue<Boolean> TRUE = new FixedValue<>(true);
+        static final FixedValue<Boolean> FALSE = new FixedValue<>(false);
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public void addListener(ChangeListener<? super T> listener) {
+        }
+
+        @Override
+        public void removeListener(ChangeListener<? super T> listener) {
+        }
+
+        @Override
+        public void addListener(InvalidationListener listener) {
+        }
+
+        @Override
+        public void removeListener(InvalidationListener listener) {
+        }
+    }
+
+    private static class FormattedCell<S, T> extends TableCell<S, T> {
+
+        private final BiFunction<? super S, ? super T, String> format;
+
+        FormattedCell(BiFunction<? super S, ? super T, String> format) {
+            this.format = format;
+        }
+
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setText(null);
+                return;
+            }
+            // The row's own item: under sorting or filtering the index does not point into the source list
+            S row = getTableRow() != null ? getTableRow().getItem() : null;
+            setText(format.apply(row, item));
+        }
+    }
+}
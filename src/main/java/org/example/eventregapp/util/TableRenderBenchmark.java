@@ -0,0 +1,201 @@
+package org.example.eventregapp.util;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.image.WritableImage;
+import javafx.stage.Stage;
+import org.example.eventregapp.model.EventSummary;
+import org.example.eventregapp.model.ParticipantSummary;
+import org.example.eventregapp.model.RegistrationSummary;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Rendering benchmark for the large tables: scrolls an events, users and registrations table of
+ * synthetic rows from top to bottom and reports frame time and allocation rate on the FX thread,
+ * once with the {@link TableCells} factories and once with a new property wrapper per cell as
+ * the tables used before. Each frame is a scroll step followed by a snapshot of the scene, which
+ * runs CSS, layout, the cell updates and a software render.
+ * Runs headless on Monocle: {@code mvn -Ptable-benchmark compile exec:exec}, or
+ * {@code java org.example.eventregapp.util.TableRenderBenchmark [rows] [frames]} with Monocle on the
+ * class path and {@code -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw}.
+ */
+public class TableRenderBenchmark {
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 700;
+    private static final int WARMUP_FRAMES = 300;
+
+    private record Result(String table, String factories, int frames, double averageMs, double p99Ms,
+            double maxMs, double allocatedMbPerSecond, long allocatedBytesPerFrame) {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        // Headless unless the command line asked for something else
+        setDefault("glass.platform", "Monocle");
+        setDefault("monocle.platform", "Headless");
+        setDefault("prism.order", "sw");
+
+        System.out.println("=== Table Rendering Benchmark (" + rows + " rows, " + frames + " frames) ===");
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+
+        List<EventSummary> events = new ArrayList<>(rows);
+        List<ParticipantSummary> users = new ArrayList<>(rows);
+        List<RegistrationSummary> registrations = new ArrayList<>(rows);
+        LocalDate firstDay = LocalDate.of(2025, 1, 1);
+        LocalDateTime firstRegistration = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < rows; i++) {
+            long id = i + 1;
+            events.add(new EventSummary(id, "Event " + id, firstDay.plusDays(i % 365), 50 + i % 200, i % 50,
+                    i % 97 == 0));
+            users.add(new ParticipantSummary(id, "Participant " + id, "participant" + id + "@example.com",
+                    i % 100 == 0 ? "ADMIN" : "USER"));
+            registrations.add(new RegistrationSummary(id, id, "Participant " + id, id % 500 + 1,
+                    "Event " + (id % 500 + 1), firstRegistration.plusMinutes(i)));
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (boolean cells : new boolean[]{false, true}) {
+            results.add(onFxThread(() -> scroll("eventsTable", eventsTable(events, cells), cells, frames)));
+            results.add(onFxThread(() -> scroll("usersTable", usersTable(users, cells), cells, frames)));
+            results.add(onFxThread(() -> scroll("registrationsTable", registrationsTable(registrations, cells),
+                    cells, frames)));
+        }
+
+        System.out.printf("%-20s %-10s %7s %9s %9s %9s %12s %12s%n",
+                "table", "factories", "frames", "avg ms", "p99 ms", "max ms", "alloc MB/s", "alloc B/frame");
+        for (Result result : results) {
+            System.out.printf("%-20s %-10s %7d %9.2f %9.2f %9.2f %12.1f %12d%n",
+                    result.table(), result.factories(), result.frames(), result.averageMs(), result.p99Ms(),
+                    result.maxMs(), result.allocatedMbPerSecond(), result.allocatedBytesPerFrame());
+        }
+        Platform.exit();
+    }
+
+    private static TableView<EventSummary> eventsTable(List<EventSummary> events, boolean cells) {
+        TableView<EventSummary> table = new TableView<>(FXCollections.observableArrayList(events));
+        table.getColumns().add(column("Event Name", EventSummary::eventName, cells));
+        table.getColumns().add(column("Date", EventSummary::eventDate, cells));
+        table.getColumns().add(column("Total Seats", EventSummary::totalSeats, cells));
+        table.getColumns().add(column("Available", EventSummary::availableSeats, cells));
+        table.getColumns().add(column("Registrations", EventSummary::currentRegistrationCount, cells));
+        return table;
+    }
+
+    private static TableView<ParticipantSummary> usersTable(List<ParticipantSummary> users, boolean cells) {
+        TableView<ParticipantSummary> table = new TableView<>(FXCollections.observableArrayList(users));
+        table.getColumns().add(column("Name", ParticipantSummary::fullName, cells));
+        table.getColumns().add(column("Email", ParticipantSummary::email, cells));
+        table.getColumns().add(column("Role", ParticipantSummary::role, cells));
+        return table;
+    }
+
+    private static TableView<RegistrationSummary> registrationsTable(List<RegistrationSummary> registrations,
+            boolean cells) {
+        TableView<RegistrationSummary> table = new TableView<>(FXCollections.observableArrayList(registrations));
+        table.getColumns().add(column("Participant", RegistrationSummary::participantName, cells));
+        table.getColumns().add(column("Event", RegistrationSummary::eventName, cells));
+        TableColumn<RegistrationSummary, LocalDateTime> dateColumn =
+                column("Registered", RegistrationSummary::registrationDate, cells);
+        if (cells) {
+            dateColumn.setCellFactory(TableCells.text(DATE_TIME_FORMAT::format));
+        }
+        table.getColumns().add(dateColumn);
+        return table;
+    }
+
+    private static <S, T> TableColumn<S, T> column(String title, Function<S, T> getter, boolean cells) {
+        TableColumn<S, T> column = new TableColumn<>(title);
+        if (cells) {
+            column.setCellValueFactory(TableCells.value(getter));
+        } else {
+            column.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(getter.apply(cellData.getValue())));
+        }
+        return column;
+    }
+
+    private static <S> Result scroll(String name, TableView<S> table, boolean cells, int frames) {
+        Stage stage = new Stage();
+        Scene scene = new Scene(table, WIDTH, HEIGHT);
+        stage.setScene(scene);
+        stage.show();
+        WritableImage image = new WritableImage(WIDTH, HEIGHT);
+        int rows = table.getItems().size();
+
+        // Same path once without measuring, so the JIT has compiled it
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            table.scrollTo(rowForFrame(frame, WARMUP_FRAMES, rows));
+            scene.snapshot(image);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long[] frameNanos = new long[frames];
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            long frameStart = System.nanoTime();
+            table.scrollTo(rowForFrame(frame, frames, rows));
+            scene.snapshot(image);
+            frameNanos[frame] = System.nanoTime() - frameStart;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        stage.close();
+
+        Arrays.sort(frameNanos);
+        double averageMs = Arrays.stream(frameNanos).average().orElse(0) / 1_000_000.0;
+        double p99Ms = frameNanos[Math.min(frames - 1, (int) (frames * 0.99))] / 1_000_000.0;
+        double maxMs = frameNanos[frames - 1] / 1_000_000.0;
+        double mbPerSecond = allocated / (1024.0 * 1024.0) / (elapsed / 1_000_000_000.0);
+        return new Result(name, cells ? "TableCells" : "wrapper", frames, averageMs, p99Ms, maxMs, mbPerSecond,
+                allocated / frames);
+    }
+
+    // Frames are spread evenly from the first row to the last
+    private static int rowForFrame(int frame, int frames, int rows) {
+        return (int) ((long) frame * (rows - 1) / Math.max(1, frames - 1));
+    }
+
+    private static Result onFxThread(Supplier<Result> benchmark) throws InterruptedException {
+        Result[] result = new Result[1];
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                result[0] = benchmark.get();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        if (result[0] == null) {
+            throw new IllegalStateException("Benchmark failed on the FX thread");
+        }
+        return result[0];
+    }
+
+    private static void setDefault(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+}
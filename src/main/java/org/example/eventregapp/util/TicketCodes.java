@@ -0,0 +1,123 @@
+package org.example.eventregapp.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+/**
+ * Compact signed ticket codes.
+ * A ticket is one 64-bit value: the registration ID in the high 32 bits and a 32-bit HMAC-SHA256
+ * tag over (event ID, registration ID) in the low 32 bits. It is written as 13 Crockford base32
+ * characters in groups (e.g. {@code 0004-2K7Q-M9XD-3}), so it fits a QR code or can be typed in.
+ * Codes can only be issued with the secret key, and the event ID in the tag keeps a ticket
+ * from being valid at another event.
+ */
+public class TicketCodes {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int CODE_CHARS = 13;
+    private static final int GROUP = 4;
+
+    private final SecretKeySpec key;
+
+    public TicketCodes(byte[] secret) {
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    /**
+     * Issue the ticket value of a registration
+     */
+    public long issue(long registrationId, long eventId) {
+        // Kept to 31 bits so ticket values are never negative
+        if (registrationId < 0 || registrationId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Registration ID does not fit a ticket code: " + registrationId);
+        }
+        return registrationId << 32 | (tag(registrationId, eventId) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Check the tag of a ticket value against an event, without any lookup
+     */
+    public boolean verify(long ticket, long eventId) {
+        return (int) ticket == tag(registrationIdOf(ticket), eventId);
+    }
+
+    public static long registrationIdOf(long ticket) {
+        return ticket >>> 32;
+    }
+
+    /**
+     * Format a ticket value as a grouped base32 code
+     */
+    public static String format(long ticket) {
+        char[] chars = new char[CODE_CHARS];
+        for (int i = CODE_CHARS - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (ticket & 31));
+            ticket >>>= 5;
+        }
+        StringBuilder code = new StringBuilder(CODE_CHARS + CODE_CHARS / GROUP);
+        for (int i = 0; i < CODE_CHARS; i++) {
+            if (i > 0 && i % GROUP == 0) {
+                code.append('-');
+            }
+            code.append(chars[i]);
+        }
+        return code.toString();
+    }
+
+    /**
+     * Parse a scanned or typed code; separators and case are ignored, and the commonly
+     * confused letters I, L and O are read as 1, 1 and 0
+     *
+     * @return the ticket value, or -1 if the code is malformed
+     */
+    public static long parse(CharSequence code) {
+        if (code == null) {
+            return -1;
+        }
+        long ticket = 0;
+        int digits = 0;
+        for (int i = 0; i < code.length(); i++) {
+            int value = digitValue(code.charAt(i));
+            if (value == -2) {
+                continue;
+            }
+            if (value < 0 || ++digits > CODE_CHARS) {
+                return -1;
+            }
+            // 13 x 5 = 65 bits, so the first character carries only the top 3 bits of a non-negative value
+            if (digits == 1 && value > 7) {
+                return -1;
+            }
+            ticket = ticket << 5 | value;
+        }
+        return digits == CODE_CHARS ? ticket : -1;
+    }
+
+    // Value of a base32 character, -2 for a separator to skip, -1 for anything else
+    private static int digitValue(char c) {
+        if (c == '-' || c == ' ') {
+            return -2;
+        }
+        char upper = Character.toUpperCase(c);
+        if (upper == 'I' || upper == 'L') {
+            return 1;
+        }
+        if (upper == 'O') {
+            return 0;
+        }
+        return upper < 128 ? ALPHABET.indexOf(upper) : -1;
+    }
+
+    private int tag(long registrationId, long eventId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            byte[] digest = mac.doFinal(ByteBuffer.allocate(16).putLong(eventId).putLong(registrationId).array());
+            return ByteBuffer.wrap(digest).getInt();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.eventregapp.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-event index of valid ticket values for a check-in station.
+ * Tickets are kept in an open-addressing hash table of primitive longs built once at load time
+ * and only read afterwards, so lookups are O(1) and need no locking. Who has checked in is a
+ * concurrent bitset over the ticket positions, updated by CAS, so two stations scanning the
+ * same ticket at the same moment cannot both admit it.
+ */
+public class TicketIndex {
+
+    private static final long EMPTY = -1;
+
+    private final long[] keys;
+    private final int[] positions;
+    private final int mask;
+    private final int size;
+    private final AtomicLongArray checkedIn;
+
+    /**
+     * @param tickets non-negative ticket values; a ticket's position is its index in this array
+     */
+    public TicketIndex(long[] tickets) {
+        this.size = tickets.length;
+        int capacity = Integer.highestOneBit(Math.max(4, size * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+        this.checkedIn = new AtomicLongArray((size + 63) >>> 6);
+        Arrays.fill(keys, EMPTY);
+
+        for (int position = 0; position < size; position++) {
+            long ticket = tickets[position];
+            if (ticket < 0) {
+                throw new IllegalArgumentException("Ticket values must not be negative");
+            }
+            int slot = slotFor(ticket);
+            while (keys[slot] != EMPTY && keys[slot] != ticket) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = ticket;
+            positions[slot] = position;
+        }
+    }
+
+    /**
+     * Find the position of a ticket
+     *
+     * @return the position, or -1 if the ticket is not valid for this event
+     */
+    public int positionOf(long ticket) {
+        if (ticket < 0) {
+            return -1;
+        }
+        int slot = slotFor(ticket);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == ticket) {
+                return positions[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Mark a position as checked in
+     *
+     * @return true if this call checked it in, false if it already was
+     */
+    public boolean checkIn(int position) {
+        int word = position >>> 6;
+        long bit = 1L << position;
+        while (true) {
+            long current = checkedIn.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (checkedIn.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Clear a check-in, e.g. when it could not be recorded
+     */
+    public void undoCheckIn(int position) {
+        int word = position >>> 6;
+        long bit = 1L << position;
+        long current;
+        do {
+            current = checkedIn.get(word);
+        } while (!checkedIn.compareAndSet(word, current, current & ~bit));
+    }
+
+    public boolean isCheckedIn(int position) {
+        return (checkedIn.get(position >>> 6) & (1L << position)) != 0;
+    }
+
+    public int getCheckedInCount() {
+        int count = 0;
+        for (int i = 0; i < checkedIn.length(); i++) {
+            count += Long.bitCount(checkedIn.get(i));
+        }
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Tickets end in an HMAC tag, so the low bits are already uniformly spread
+    private int slotFor(long ticket) {
+        return (int) (ticket ^ (ticket >>> 32)) & mask;
+    }
+}
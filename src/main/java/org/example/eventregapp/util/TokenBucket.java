@@ -0,0 +1,61 @@
+package org.example.eventregapp.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, allocation-free token bucket.
+ * The whole state is one long, the time at which the bucket will be full again ("theoretical
+ * arrival time" of the generic cell rate algorithm), so taking a token is a single CAS.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param tokensPerSecond refill rate
+     * @param burst           bucket size, i.e. how many calls may be made at once after a quiet period
+     */
+    public TokenBucket(double tokensPerSecond, int burst) {
+        if (tokensPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.fullAt = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * Take one token if one is available
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken by {@link #tryAcquire()}, e.g. because a later check rejected the call
+     */
+    public void release() {
+        // A bucket that has refilled meanwhile is unaffected: tryAcquire never looks before now
+        fullAt.addAndGet(-nanosPerToken);
+    }
+
+    /**
+     * Check whether the bucket has refilled completely, i.e. it has not been used recently
+     */
+    public boolean isIdle() {
+        return fullAt.get() - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,279 @@
+package org.example.eventregapp.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Incrementally maintained in-memory substring index.
+ * Every document gets a dense int id, and each trigram of its (lowercased) fields
+ * maps to a sorted int array of the documents containing it. Single characters and
+ * bigrams are indexed too, so one- and two-letter queries match anywhere in a word
+ * without scanning every document.
+ * Results are ranked: field prefix, then word prefix, then plain substring.
+ *
+ * @param <K> the key type of the indexed records (e.g. participant id)
+ */
+public class TrigramIndex<K> {
+
+    // Unigram and bigram keys sit above the 48 bits a trigram uses, so they never collide with one
+    private static final long UNIGRAM = 1L << 48;
+    private static final long BIGRAM = 2L << 48;
+
+    // Rebuild the postings once more than half of the documents are dead
+    private static final double COMPACT_RATIO = 0.5;
+
+    private final Map<K, Integer> docByKey = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    private final List<String[]> texts = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private Map<Long, Postings> postings = new HashMap<>();
+    private int deadCount;
+
+    /**
+     * Add or replace the record with the given key
+     */
+    public synchronized void put(K key, String... fields) {
+        removeDoc(key);
+
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+        }
+
+        int docId = keys.size();
+        keys.add(key);
+        texts.add(normalized);
+        live.set(docId);
+        docByKey.put(key, docId);
+        addPostings(docId, normalized);
+        compactIfSparse();
+    }
+
+    /**
+     * Remove the record with the given key, if present
+     */
+    public synchronized void remove(K key) {
+        removeDoc(key);
+        compactIfSparse();
+    }
+
+    /**
+     * Drop every record
+     */
+    public synchronized void clear() {
+        docByKey.clear();
+        keys.clear();
+        texts.clear();
+        live.clear();
+        postings = new HashMap<>();
+        deadCount = 0;
+    }
+
+    public synchronized int size() {
+        return docByKey.size();
+    }
+
+    /**
+     * Find records whose fields contain the query, best matches first
+     *
+     * @param query text to look for (case-insensitive)
+     * @param limit maximum number of keys to return
+     * @return matching keys in rank order
+     */
+    public synchronized List<K> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int[] candidates = candidatesFor(q);
+        int found = 0;
+        long[] ranked = new long[Math.min(candidates.length, 1024)];
+        for (int docId : candidates) {
+            int rank = rank(texts.get(docId), q);
+            if (rank < 0) {
+                continue;
+            }
+            if (found == ranked.length) {
+                ranked = Arrays.copyOf(ranked, ranked.length * 2);
+            }
+            // rank in the high bits, text length next, doc id last so sorting is stable
+            int length = Math.min(texts.get(docId)[0].length(), 0xFFFF);
+            ranked[found++] = ((long) rank << 48) | ((long) length << 32) | docId;
+        }
+        Arrays.sort(ranked, 0, found);
+
+        List<K> results = new ArrayList<>(Math.min(found, limit));
+        for (int i = 0; i < found && results.size() < limit; i++) {
+            results.add(keys.get((int) ranked[i]));
+        }
+        return results;
+    }
+
+    private int[] candidatesFor(String q) {
+        if (q.length() <= 2) {
+            // Too short for trigrams, use the character or bigram postings
+            Postings p = postings.get(q.length() == 1 ? unigram(q.charAt(0)) : bigram(q.charAt(0), q.charAt(1)));
+            return p == null ? new int[0] : p.liveDocs(live);
+        }
+
+        // Intersect the shortest posting lists first
+        Postings[] lists = new Postings[q.length() - 2];
+        for (int i = 0; i + 2 < q.length(); i++) {
+            Postings p = postings.get(trigram(q.charAt(i), q.charAt(i + 1), q.charAt(i + 2)));
+            if (p == null) {
+                return new int[0];
+            }
+            lists[i] = p;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] result = lists[0].liveDocs(live);
+        int size = result.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            size = intersect(result, size, lists[i]);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // Returns 0 for a field prefix, 1 for a word prefix, 2 for a substring and -1 for no match
+    private static int rank(String[] fields, String q) {
+        int best = -1;
+        for (String field : fields) {
+            int at = field.indexOf(q);
+            while (at >= 0) {
+                int rank = at == 0 ? 0 : (!Character.isLetterOrDigit(field.charAt(at - 1)) ? 1 : 2);
+                if (best < 0 || rank < best) {
+                    best = rank;
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                at = field.indexOf(q, at + 1);
+            }
+        }
+        return best;
+    }
+
+    private void addPostings(int docId, String[] fields) {
+        for (String field : fields) {
+            for (int i = 0; i < field.length(); i++) {
+                char c = field.charAt(i);
+                postingsFor(unigram(c)).add(docId);
+                if (i + 1 < field.length()) {
+                    postingsFor(bigram(c, field.charAt(i + 1))).add(docId);
+                }
+                if (i + 2 < field.length()) {
+                    postingsFor(trigram(c, field.charAt(i + 1), field.charAt(i + 2))).add(docId);
+                }
+            }
+        }
+    }
+
+    private Postings postingsFor(long trigram) {
+        return postings.computeIfAbsent(trigram, t -> new Postings());
+    }
+
+    private void removeDoc(K key) {
+        Integer docId = docByKey.remove(key);
+        if (docId != null) {
+            live.clear(docId);
+            texts.set(docId, null);
+            deadCount++;
+        }
+    }
+
+    // A replaced record leaves its old document dead just like a removed one
+    private void compactIfSparse() {
+        if (deadCount > COMPACT_RATIO * keys.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<K> oldKeys = new ArrayList<>(keys);
+        List<String[]> oldTexts = new ArrayList<>(texts);
+        clear();
+        for (int i = 0; i < oldKeys.size(); i++) {
+            String[] fields = oldTexts.get(i);
+            if (fields != null) {
+                int docId = keys.size();
+                keys.add(oldKeys.get(i));
+                texts.add(fields);
+                live.set(docId);
+                docByKey.put(oldKeys.get(i), docId);
+                addPostings(docId, fields);
+            }
+        }
+    }
+
+    // Keeps the docs of result[0..size) that also appear in the posting list, in place
+    private static int intersect(int[] result, int size, Postings other) {
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            int doc = result[i];
+            while (j < other.size && other.docs[j] < doc) {
+                j++;
+            }
+            if (j == other.size) {
+                break;
+            }
+            if (other.docs[j] == doc) {
+                result[n++] = doc;
+            }
+        }
+        return n;
+    }
+
+    private static long trigram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static long bigram(char a, char b) {
+        return BIGRAM | ((long) a << 16) | b;
+    }
+
+    private static long unigram(char c) {
+        return UNIGRAM | c;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sorted, growable int array of document ids
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int docId) {
+            // Documents are added in increasing id order, so only the last entry can repeat
+            if (size > 0 && docs[size - 1] == docId) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = docId;
+        }
+
+        int[] liveDocs(BitSet live) {
+            int[] result = new int[size];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(docs[i])) {
+                    result[n++] = docs[i];
+                }
+            }
+            return n == size ? result : Arrays.copyOf(result, n);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.eventregapp.util;
+
+import org.example.eventregapp.diagnostics.SessionAcquisitionFlightEvent;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-bound unit of work.
+ * The outermost call opens one session and transaction and binds it to the thread;
+ * nested calls (e.g. a duplicate check inside a registration) reuse that session, so a
+ * composite operation uses a single pooled connection. The bound session is also
+ * available through {@link DatabaseUtil#getCurrentSession()}.
+ * Outermost units of work go through {@link DatabaseResilience}, so work must be safe to
+ * run again after a transient failure.
+ */
+public class UnitOfWork {
+
+    /**
+     * A piece of work that runs against the current session
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(Session session);
+    }
+
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+    private static final AtomicInteger openSessions = new AtomicInteger();
+
+    private final Session session;
+    private final boolean readOnly;
+    private boolean rollbackOnly;
+    private RuntimeException nestedFailure;
+
+    private UnitOfWork(Session session, boolean readOnly) {
+        this.session = session;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Run work in a read-write transaction, joining the current unit of work if there is one
+     */
+    public static <T> T inTransaction(Work<T> work) {
+        return run(work, false);
+    }
+
+    /**
+     * Run read-only work, joining the current unit of work if there is one
+     */
+    public static <T> T read(Work<T> work) {
+        return run(work, true);
+    }
+
+    /**
+     * Make the current unit of work roll back instead of committing, e.g. after a failed validation
+     */
+    public static void setRollbackOnly() {
+        UnitOfWork unit = current.get();
+        if (unit != null) {
+            unit.rollbackOnly = true;
+        }
+    }
+
+    public static boolean isRollbackOnly() {
+        UnitOfWork unit = current.get();
+        return unit != null && unit.rollbackOnly;
+    }
+
+    /**
+     * Get the number of sessions currently held by outermost units of work, i.e. connections in use
+     */
+    public static int getOpenSessionCount() {
+        return openSessions.get();
+    }
+
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    static Session currentSession() {
+        UnitOfWork unit = current.get();
+        return unit != null ? unit.session : null;
+    }
+
+    private static <T> T run(Work<T> work, boolean readOnly) {
+        UnitOfWork unit = current.get();
+        if (unit != null) {
+            if (unit.readOnly && !readOnly) {
+                throw new IllegalStateException("Cannot start a read-write unit of work inside a read-only one");
+            }
+            try {
+                return work.execute(unit.session);
+            } catch (RuntimeException e) {
+                // A failed nested call must not be committed by the outer unit of work,
+                // even if the nested caller swallowed the exception
+                unit.nestedFailure = e;
+                throw e;
+            }
+        }
+
+        // Only the outermost unit of work is retried, each attempt on a fresh session
+        return DatabaseResilience.execute(() -> runOnce(work, readOnly));
+    }
+
+    private static <T> T runOnce(Work<T> work, boolean readOnly) {
+        // Hibernate takes the pooled connection when the transaction begins, so both steps are timed
+        SessionAcquisitionFlightEvent flightEvent = new SessionAcquisitionFlightEvent(readOnly);
+        flightEvent.begin();
+        Session session = readOnly ? DatabaseUtil.getReadSession() : DatabaseUtil.getSession();
+        UnitOfWork unit = new UnitOfWork(session, readOnly);
+        current.set(unit);
+        openSessions.incrementAndGet();
+        try {
+            session.setDefaultReadOnly(readOnly);
+            Transaction transaction;
+            try {
+                transaction = session.beginTransaction();
+            } catch (RuntimeException e) {
+                flightEvent.finish("failed: " + e.getMessage());
+                throw e;
+            }
+            flightEvent.finish("acquired");
+            try {
+                T result = work.execute(session);
+                if (unit.nestedFailure != null) {
+                    throw new IllegalStateException("Rolled back after a nested operation failed: "
+                            + unit.nestedFailure.getMessage(), unit.nestedFailure);
+                }
+                if (unit.rollbackOnly || readOnly) {
+                    transaction.rollback();
+                } else {
+                    transaction.commit();
+                    DatabaseUtil.recordWrite();
+                }
+                return result;
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        } finally {
+            openSessions.decrementAndGet();
+            current.remove();
+            session.close();
+        }
+    }
+}
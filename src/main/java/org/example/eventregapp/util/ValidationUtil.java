@@ -1,9 +1,25 @@
 package org.example.eventregapp.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Pattern;
 
 public class ValidationUtil {
 
+    // Error codes returned by the bulk API, one bit per failed check (0 means the row is valid)
+    public static final byte NAME_REQUIRED = 1;
+    public static final byte NAME_INVALID = 1 << 1;
+    public static final byte EMAIL_REQUIRED = 1 << 2;
+    public static final byte EMAIL_INVALID = 1 << 3;
+    public static final byte PASSWORD_REQUIRED = 1 << 4;
+    public static final byte PASSWORD_TOO_SHORT = 1 << 5;
+    public static final byte PASSWORD_WEAK = 1 << 6;
+
+    // Rows per fork-join leaf task
+    private static final int BULK_THRESHOLD = 2048;
+
     // Email validation pattern
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
             "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
@@ -16,20 +32,24 @@ public class ValidationUtil {
      * Validates email format
      */
     public static boolean isValidEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
+        if (email == null) {
             return false;
         }
-        return EMAIL_PATTERN.matcher(email.trim()).matches();
+        int start = trimStart(email);
+        int end = trimEnd(email, start);
+        return start < end && scanEmail(email, start, end);
     }
 
     /**
      * Validates full name format
      */
     public static boolean isValidName(String name) {
-        if (name == null || name.trim().isEmpty()) {
+        if (name == null) {
             return false;
         }
-        return NAME_PATTERN.matcher(name.trim()).matches();
+        int start = trimStart(name);
+        int end = trimEnd(name, start);
+        return start < end && scanName(name, start, end);
     }
 
     /**
@@ -40,11 +60,267 @@ public class ValidationUtil {
             return false;
         }
         // Check for at least one letter and one number
+        return scanPassword(password);
+    }
+
+    /**
+     * Validates columnar batches of participant fields across all cores.
+     * Any column may be null to skip it; the others must have the same length.
+     *
+     * @return one code per row, 0 if valid, otherwise a combination of the error bits above
+     */
+    public static byte[] validateParticipants(String[] names, String[] emails, String[] passwords) {
+        int rows = -1;
+        for (String[] column : new String[][]{names, emails, passwords}) {
+            if (column != null) {
+                if (rows >= 0 && column.length != rows) {
+                    throw new IllegalArgumentException("All columns must have the same length");
+                }
+                rows = column.length;
+            }
+        }
+        byte[] codes = new byte[Math.max(rows, 0)];
+        if (codes.length > 0) {
+            ForkJoinPool.commonPool().invoke(new BulkValidation(names, emails, passwords, codes, 0, codes.length));
+        }
+        return codes;
+    }
+
+    /**
+     * Get the messages for a code returned by {@link #validateParticipants}
+     */
+    public static List<String> getErrorMessages(byte code) {
+        List<String> messages = new ArrayList<>();
+        if ((code & NAME_REQUIRED) != 0) {
+            messages.add("Name is required");
+        }
+        if ((code & NAME_INVALID) != 0) {
+            messages.add("Name must be 2-50 characters and contain only letters, spaces, hyphens, and apostrophes");
+        }
+        if ((code & EMAIL_REQUIRED) != 0) {
+            messages.add("Email is required");
+        }
+        if ((code & EMAIL_INVALID) != 0) {
+            messages.add("Please enter a valid email address");
+        }
+        if ((code & PASSWORD_REQUIRED) != 0) {
+            messages.add("Password is required");
+        }
+        if ((code & PASSWORD_TOO_SHORT) != 0) {
+            messages.add("Password must be at least 6 characters long");
+        }
+        if ((code & PASSWORD_WEAK) != 0) {
+            messages.add("Password must contain at least one letter and one number");
+        }
+        return messages;
+    }
+
+    static byte nameCode(String name) {
+        if (name == null) {
+            return NAME_REQUIRED;
+        }
+        int start = trimStart(name);
+        int end = trimEnd(name, start);
+        if (start == end) {
+            return NAME_REQUIRED;
+        }
+        return scanName(name, start, end) ? 0 : NAME_INVALID;
+    }
+
+    static byte emailCode(String email) {
+        if (email == null) {
+            return EMAIL_REQUIRED;
+        }
+        int start = trimStart(email);
+        int end = trimEnd(email, start);
+        if (start == end) {
+            return EMAIL_REQUIRED;
+        }
+        return scanEmail(email, start, end) ? 0 : EMAIL_INVALID;
+    }
+
+    static byte passwordCode(String password) {
+        if (password == null || password.isEmpty()) {
+            return PASSWORD_REQUIRED;
+        }
+        if (password.length() < 6) {
+            return PASSWORD_TOO_SHORT;
+        }
+        return scanPassword(password) ? 0 : PASSWORD_WEAK;
+    }
+
+    /**
+     * Regex version of {@link #isValidEmail}, kept as the reference for ValidationUtilTest
+     */
+    static boolean isValidEmailRegex(String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return false;
+        }
+        return EMAIL_PATTERN.matcher(email.trim()).matches();
+    }
+
+    /**
+     * Regex version of {@link #isValidName}, kept as the reference for ValidationUtilTest
+     */
+    static boolean isValidNameRegex(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return false;
+        }
+        return NAME_PATTERN.matcher(name.trim()).matches();
+    }
+
+    /**
+     * Regex version of {@link #isValidPassword}, kept as the reference for ValidationUtilTest
+     */
+    static boolean isValidPasswordRegex(String password) {
+        if (password == null || password.length() < 6) {
+            return false;
+        }
         boolean hasLetter = password.matches(".*[a-zA-Z].*");
         boolean hasNumber = password.matches(".*\\d.*");
         return hasLetter && hasNumber;
     }
 
+    // Same bounds as String.trim(), without creating the trimmed copy
+    private static int trimStart(String s) {
+        int start = 0;
+        while (start < s.length() && s.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String s, int start) {
+        int end = s.length();
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    // [a-zA-Z0-9._%+-]+ @ [a-zA-Z0-9.-]+ \. [a-zA-Z]{2,}
+    private static boolean scanEmail(String s, int start, int end) {
+        int at = -1;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (!isAsciiLetterOrDigit(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                return false;
+            }
+        }
+        if (at <= start) {
+            return false;
+        }
+
+        // The top-level domain has no dots, so it starts after the last dot of the domain
+        int lastDot = -1;
+        for (int i = at + 1; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        if (lastDot <= at + 1 || end - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < end; i++) {
+            if (!isAsciiLetter(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // [a-zA-Z\s\-']{2,50}, where \s is [ \t\n\x0B\f\r]
+    private static boolean scanName(String s, int start, int end) {
+        int length = end - start;
+        if (length < 2 || length > 50) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (!isAsciiLetter(c) && c != ' ' && c != '-' && c != '\'' && (c < '\t' || c > '\r')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // .*[a-zA-Z].* and .*\d.* both fail when the password contains a line terminator, since . does not match one
+    private static boolean scanPassword(String s) {
+        boolean hasLetter = false;
+        boolean hasNumber = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+            hasLetter |= isAsciiLetter(c);
+            hasNumber |= c >= '0' && c <= '9';
+        }
+        return hasLetter && hasNumber;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Fork-join task that validates a range of rows, splitting large ranges in half
+     */
+    private static class BulkValidation extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] names;
+        private final String[] emails;
+        private final String[] passwords;
+        private final byte[] codes;
+        private final int from;
+        private final int to;
+
+        BulkValidation(String[] names, String[] emails, String[] passwords, byte[] codes, int from, int to) {
+            this.names = names;
+            this.emails = emails;
+            this.passwords = passwords;
+            this.codes = codes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BULK_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    byte code = 0;
+                    if (names != null) {
+                        code |= nameCode(names[i]);
+                    }
+                    if (emails != null) {
+                        code |= emailCode(emails[i]);
+                    }
+                    if (passwords != null) {
+                        code |= passwordCode(passwords[i]);
+                    }
+                    codes[i] = code;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BulkValidation(names, emails, passwords, codes, from, middle),
+                    new BulkValidation(names, emails, passwords, codes, middle, to));
+        }
+    }
+
     /**
      * Validates that a string is not empty and has minimum length
      */
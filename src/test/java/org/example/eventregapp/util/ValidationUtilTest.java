@@ -0,0 +1,142 @@
+package org.example.eventregapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Differential test that the hand-written validators in {@link ValidationUtil} give the
+ * same answers as the original regular expressions, and that the bulk API agrees with
+ * the single-value error messages.
+ */
+class ValidationUtilTest {
+
+    // Fixed so a failure can be reproduced
+    private static final long SEED = 20240611L;
+    private static final int RANDOM_SAMPLES = 200_000;
+
+    // Characters on both sides of every character class boundary in the patterns
+    private static final String ALPHABET = "aZz09@@..._%+-'  \t\n\r\u000B\f\u0001\u0085 é#/!";
+
+    private static final String[] FIXED_CASES = {
+            "", " ", "a", "ab", "a@b.co", "a@b.c", "@b.co", "a@.co", "a@..co", "a@b..co", "a@b.co.",
+            "a@b.c0", "a@b.com ", " a@b.com", "a@@b.com", "a.b@c-d.ef", "a%b+c@d.ef", "a@b_c.de",
+            "John Doe", "O'Brien", "Mary-Jane", "J", "John\tDoe", "John\nDoe", "John\u0001Doe",
+            "José", "abc123", "abcdef", "123456", "abc12\n3", "abc 123", "a1a1a1",
+            "x".repeat(50), "x".repeat(51), " " + "x".repeat(50) + " "
+    };
+
+    private static final String[] SAMPLES = samples();
+
+    @Test
+    void validatorsMatchRegexVersions() {
+        List<String> mismatches = new ArrayList<>();
+        for (String sample : SAMPLES) {
+            if (ValidationUtil.isValidEmail(sample) != ValidationUtil.isValidEmailRegex(sample)
+                    || ValidationUtil.isValidName(sample) != ValidationUtil.isValidNameRegex(sample)
+                    || ValidationUtil.isValidPassword(sample) != ValidationUtil.isValidPasswordRegex(sample)) {
+                mismatches.add(escape(sample));
+            }
+        }
+        assertTrue(mismatches.isEmpty(), () -> "Validator mismatches: " + mismatches);
+    }
+
+    @Test
+    void bulkValidationMatchesSingleValueMessages() {
+        // Each sample is used as name, email and password of its row
+        byte[] codes = ValidationUtil.validateParticipants(SAMPLES, SAMPLES, SAMPLES);
+        assertEquals(SAMPLES.length, codes.length);
+        for (int i = 0; i < SAMPLES.length; i++) {
+            String sample = SAMPLES[i];
+            List<String> expected = new ArrayList<>();
+            addIfPresent(expected, regexNameError(sample));
+            addIfPresent(expected, regexEmailError(sample));
+            addIfPresent(expected, regexPasswordError(sample));
+            assertEquals(expected, ValidationUtil.getErrorMessages(codes[i]),
+                    "Bulk mismatch for \"" + escape(sample) + "\"");
+        }
+    }
+
+    private static String[] samples() {
+        Random random = new Random(SEED);
+        String[] samples = new String[FIXED_CASES.length + RANDOM_SAMPLES];
+        System.arraycopy(FIXED_CASES, 0, samples, 0, FIXED_CASES.length);
+        for (int i = FIXED_CASES.length; i < samples.length; i++) {
+            samples[i] = randomSample(random);
+        }
+        return samples;
+    }
+
+    private static String randomSample(Random random) {
+        // Mostly plausible emails and names, the rest random strings
+        int length = random.nextInt(60);
+        StringBuilder sample = new StringBuilder(length + 8);
+        int at = random.nextInt(3) == 0 ? -1 : random.nextInt(length + 1);
+        for (int i = 0; i < length; i++) {
+            if (i == at) {
+                sample.append('@');
+            } else if (random.nextInt(4) == 0) {
+                sample.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            } else {
+                sample.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        if (random.nextBoolean()) {
+            sample.append('.').append(random.nextBoolean() ? "com" : "c");
+        }
+        return sample.toString();
+    }
+
+    // The error messages as ValidationUtil built them before the hand-written validators
+    private static String regexNameError(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return "Name is required";
+        }
+        if (!ValidationUtil.isValidNameRegex(name)) {
+            return "Name must be 2-50 characters and contain only letters, spaces, hyphens, and apostrophes";
+        }
+        return null;
+    }
+
+    private static String regexEmailError(String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return "Email is required";
+        }
+        if (!ValidationUtil.isValidEmailRegex(email)) {
+            return "Please enter a valid email address";
+        }
+        return null;
+    }
+
+    private static String regexPasswordError(String password) {
+        if (password == null || password.isEmpty()) {
+            return "Password is required";
+        }
+        if (password.length() < 6) {
+            return "Password must be at least 6 characters long";
+        }
+        if (!ValidationUtil.isValidPasswordRegex(password)) {
+            return "Password must contain at least one letter and one number";
+        }
+        return null;
+    }
+
+    private static void addIfPresent(List<String> messages, String message) {
+        if (message != null) {
+            messages.add(message);
+        }
+    }
+
+    private static String escape(String s) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : s.toCharArray()) {
+            escaped.append(c < ' ' || c > '~' ? String.format("\\u%04x", (int) c) : String.valueOf(c));
+        }
+        return escaped.toString();
+    }
+}